@@ -39,7 +39,8 @@ public class OracleSequenceConfig {
             "PAYMENT_SEQ", 
             "CERTIFICATION_SEQ", 
             "EVENT_SEQ", 
-            "EVENT_REGISTRATION_SEQ"
+            "EVENT_REGISTRATION_SEQ",
+            "IMAGE_USER_SEQ"
     );
     
     /**
@@ -66,9 +67,9 @@ public class OracleSequenceConfig {
             Integer count = jdbcTemplate.queryForObject(checkSql, Integer.class, sequenceName);
             
             if (count != null && count == 0) {
-                // Create sequence with appropriate options for ID generation
+                // Increment by the allocation size: each value reserves a block of IDs
                 String createSql = "CREATE SEQUENCE " + sequenceName + 
-                                   " START WITH 1 INCREMENT BY 1 NOCACHE NOCYCLE";
+                                   " START WITH 1 INCREMENT BY " + SequenceAllocationConfig.ALLOCATION_SIZE + " NOCACHE NOCYCLE";
                 jdbcTemplate.execute(createSql);
                 System.out.println("Created Oracle sequence: " + sequenceName);
             }
@@ -0,0 +1,36 @@
+package com.plasturgie.app.config;
+
+import com.plasturgie.app.jdbc.QueryLoggingDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application DataSource in a QueryLoggingDataSource, which logs slow statements
+ * and a sample of the others in place of Hibernate's SQL and bind-value logging.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.query-log.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryLogConfig {
+
+    // Static, so that the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSourcePostProcessor(
+            @Value("${app.jdbc.query-log.slow-threshold:500}") long slowThreshold,
+            @Value("${app.jdbc.query-log.sample-rate:0}") double sampleRate) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the DataSource handed to JPA and JdbcTemplate, so no statement is logged twice
+                if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+                    return new QueryLoggingDataSource((DataSource) bean, slowThreshold, sampleRate);
+                }
+                return bean;
+            }
+        };
+    }
+}
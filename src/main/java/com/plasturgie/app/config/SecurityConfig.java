@@ -3,6 +3,7 @@ package com.plasturgie.app.config;
 import com.plasturgie.app.security.CustomUserDetailsService;
 import com.plasturgie.app.security.JwtAuthenticationFilter;
 import com.plasturgie.app.security.JwtTokenProvider;
+import com.plasturgie.app.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,12 +46,15 @@ public class SecurityConfig /* extends WebSecurityConfigurerAdapter */ {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
     // Keep this bean
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         // You might need to adjust constructor if it required AuthenticationManager before
         // Assuming it takes tokenProvider and userDetailsService as shown in your original code
-        return new JwtAuthenticationFilter(tokenProvider, userDetailsService);
+        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, principalCache);
     }
 
     // REMOVE the configure(AuthenticationManagerBuilder auth) method.
@@ -126,7 +130,11 @@ public class SecurityConfig /* extends WebSecurityConfigurerAdapter */ {
                 .and()
                 .authorizeRequests()
                     // Define public endpoints
-                    .antMatchers("/api/auth/**", "/api/public/**", "/actuator/**" /*if using actuator*/).permitAll()
+                    .antMatchers("/api/auth/**", "/api/public/**", "/actuator/health/**", "/actuator/info").permitAll()
+                    // Meters expose pool, Hibernate, gateway and JWT internals: scrape with an admin token
+                    .antMatchers("/actuator/prometheus").hasRole("ADMIN")
+                    // Local gateway stub, only mapped under the clictopay-stub profile
+                    .antMatchers("/clictopay-stub/**").permitAll()
                     // Secure all other endpoints
                     .anyRequest().authenticated()
                 .and()
@@ -0,0 +1,87 @@
+package com.plasturgie.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the ID sequences aligned with the pooled-lo allocation size of the entities.
+ * With pooled-lo every sequence value reserves the block [value, value + ALLOCATION_SIZE), so a
+ * sequence still incrementing by 1 would hand out overlapping blocks. Existing sequences are
+ * re-based at startup, before any insert: their next value moves ALLOCATION_SIZE past the last
+ * one, which is above every ID already issued. Sequences that do not exist yet are created by
+ * Hibernate (or OracleSequenceConfig) with the right increment.
+ */
+@Configuration
+@Profile({"postgresql", "oracle"})
+public class SequenceAllocationConfig {
+
+    /**
+     * Must match allocationSize on the entities' @SequenceGenerator
+     */
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceAllocationConfig.class);
+
+    private static final List<String> SEQUENCES = Arrays.asList(
+            "user_seq",
+            "company_seq",
+            "service_seq",
+            "course_seq",
+            "instructor_seq",
+            "enrollment_seq",
+            "review_seq",
+            "payment_seq",
+            "certification_seq",
+            "event_seq",
+            "event_registration_seq",
+            "image_user_seq"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.id-sequences.rebase:true}")
+    private boolean rebase;
+
+    @PostConstruct
+    public void alignSequences() {
+        boolean oracle = Arrays.asList(environment.getActiveProfiles()).contains("oracle");
+        for (String sequence : SEQUENCES) {
+            List<Map<String, Object>> found = oracle
+                    ? jdbcTemplate.queryForList("SELECT sequence_name AS name, increment_by AS step "
+                            + "FROM user_sequences WHERE UPPER(sequence_name) = UPPER(?)", sequence)
+                    : jdbcTemplate.queryForList("SELECT sequencename AS name, increment_by AS step "
+                            + "FROM pg_sequences WHERE schemaname = current_schema() AND sequencename = ?", sequence);
+            for (Map<String, Object> row : found) {
+                String name = (String) row.get("name");
+                long increment = ((Number) row.get("step")).longValue();
+                if (increment != ALLOCATION_SIZE) {
+                    align(name, increment);
+                }
+            }
+        }
+    }
+
+    private void align(String name, long increment) {
+        if (!rebase) {
+            throw new IllegalStateException("Sequence " + name + " increments by " + increment + " but entities allocate "
+                    + ALLOCATION_SIZE + " IDs per value; run id-sequence-migration.sql or set app.id-sequences.rebase=true");
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE \"" + name + "\" INCREMENT BY " + ALLOCATION_SIZE);
+        log.info("Re-based sequence {} from increment {} to {}", name, increment, ALLOCATION_SIZE);
+    }
+}
@@ -0,0 +1,44 @@
+package com.plasturgie.app.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Endpoints that call the payment gateway. Open-in-view would pin a pooled connection
+     * for the whole request, including the gateway round trip, so they run without it.
+     */
+    private static final String[] GATEWAY_PATHS = {
+            "/api/payments/course/*",
+            "/api/payments/event/*",
+            "/api/payments/verify/*",
+            "/api/payments/callback",
+            "/api/payments/*/refund"
+    };
+
+    /**
+     * Endpoints that stream image content. The copy can take as long as the client's
+     * download, so it must not run while open-in-view holds a connection.
+     */
+    private static final String[] STREAMING_PATHS = {
+            "/api/image-users/*/image"
+    };
+
+    // Replaces Spring Boot's open-in-view registration, which cannot exclude paths
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+                .excludePathPatterns(GATEWAY_PATHS)
+                .excludePathPatterns(STREAMING_PATHS);
+    }
+}
@@ -1,5 +1,8 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.CertificationBatchResultDTO;
+import com.plasturgie.app.dto.CertificationDTO;
+import com.plasturgie.app.dto.PageResponse;
 import com.plasturgie.app.model.Certification;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.User;
@@ -8,6 +11,9 @@ import com.plasturgie.app.service.CertificationService;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,11 +23,14 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/certifications")
 public class CertificationController {
 
+    private static final int MAX_GENERATED_CODES = 1000;
+
     @Autowired
     private CertificationService certificationService;
     
@@ -33,19 +42,46 @@ public class CertificationController {
 
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Certification> createCertification(
+    public ResponseEntity<CertificationDTO> createCertification(
             @RequestParam Long userId,
             @RequestParam Long courseId,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime issueDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryDate) {
         
         Certification certification = certificationService.createCertification(userId, courseId, issueDate, expiryDate);
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok(CertificationDTO.from(certification));
+    }
+
+    @PostMapping("/course/{courseId}/issue")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public ResponseEntity<CertificationBatchResultDTO> issueCertificationsForCourse(
+            @PathVariable Long courseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime issueDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiryDate,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        Course course = courseService.getCourseById(courseId);
+        
+        // Check if the current user is an instructor for this course or an admin
+        boolean isAuthorized = currentUser.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        
+        if (!isAuthorized) {
+            isAuthorized = course.getInstructors().stream()
+                    .anyMatch(i -> i.getUser().getUserId().equals(currentUser.getId()));
+        }
+        
+        if (!isAuthorized) {
+            return ResponseEntity.status(403).build();
+        }
+        
+        CertificationBatchResultDTO result = certificationService.issueCertificationsForCourse(
+                courseId, issueDate != null ? issueDate : LocalDateTime.now(), expiryDate);
+        return ResponseEntity.ok(result);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Certification> getCertificationById(
+    public ResponseEntity<CertificationDTO> getCertificationById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -65,29 +101,29 @@ public class CertificationController {
             return ResponseEntity.status(403).build();
         }
         
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok(CertificationDTO.from(certification));
     }
 
     @GetMapping("/code/{certificateCode}")
-    public ResponseEntity<Certification> getCertificationByCode(@PathVariable String certificateCode) {
+    public ResponseEntity<CertificationDTO> getCertificationByCode(@PathVariable String certificateCode) {
         Certification certification = certificationService.getCertificationByCode(certificateCode);
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok(CertificationDTO.from(certification));
     }
 
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#userId, #currentUser)")
-    public ResponseEntity<List<Certification>> getCertificationsByUser(
+    public ResponseEntity<List<CertificationDTO>> getCertificationsByUser(
             @PathVariable Long userId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         User user = userService.findById(userId);
         List<Certification> certifications = certificationService.getCertificationsByUser(user);
-        return ResponseEntity.ok(certifications);
+        return ResponseEntity.ok(toDTOs(certifications));
     }
 
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<List<Certification>> getCertificationsByCourse(
+    public ResponseEntity<List<CertificationDTO>> getCertificationsByCourse(
             @PathVariable Long courseId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -106,37 +142,44 @@ public class CertificationController {
         }
         
         List<Certification> certifications = certificationService.getCertificationsByCourse(course);
-        return ResponseEntity.ok(certifications);
+        return ResponseEntity.ok(toDTOs(certifications));
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Certification>> getCertificationsByStatus(@PathVariable String status) {
-        List<Certification> certifications = certificationService.getCertificationsByStatus(status);
-        return ResponseEntity.ok(certifications);
+    public ResponseEntity<PageResponse<CertificationDTO>> getCertificationsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "certificationId") Pageable pageable) {
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<Certification> certifications = after != null
+                ? certificationService.getCertificationsByStatusAfter(status, after, PageResponse.limitOf(limit))
+                : certificationService.getCertificationsByStatus(status, pageable);
+        return ResponseEntity.ok(PageResponse.of(certifications.map(CertificationDTO::from), CertificationDTO::getCertificationId));
     }
 
     @GetMapping("/my-certifications")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Certification>> getMyCertifications(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<List<CertificationDTO>> getMyCertifications(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
         List<Certification> certifications = certificationService.getCertificationsByUser(user);
-        return ResponseEntity.ok(certifications);
+        return ResponseEntity.ok(toDTOs(certifications));
     }
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Certification> updateCertificationStatus(
+    public ResponseEntity<CertificationDTO> updateCertificationStatus(
             @PathVariable Long id,
             @RequestParam String status) {
         
         Certification certification = certificationService.updateCertificationStatus(id, status);
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok(CertificationDTO.from(certification));
     }
 
     @PutMapping("/{id}/renew")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Certification> renewCertification(
+    public ResponseEntity<CertificationDTO> renewCertification(
             @PathVariable Long id,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime newExpiryDate,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -157,14 +200,14 @@ public class CertificationController {
         }
         
         Certification renewedCertification = certificationService.renewCertification(id, newExpiryDate);
-        return ResponseEntity.ok(renewedCertification);
+        return ResponseEntity.ok(CertificationDTO.from(renewedCertification));
     }
 
     @PutMapping("/{id}/revoke")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Certification> revokeCertification(@PathVariable Long id) {
+    public ResponseEntity<CertificationDTO> revokeCertification(@PathVariable Long id) {
         Certification certification = certificationService.revokeCertification(id);
-        return ResponseEntity.ok(certification);
+        return ResponseEntity.ok(CertificationDTO.from(certification));
     }
 
     @GetMapping("/verify/{certificateCode}")
@@ -180,10 +223,23 @@ public class CertificationController {
         return ResponseEntity.ok(code);
     }
 
+    @GetMapping("/generate-codes")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public ResponseEntity<List<String>> generateCertificateCodes(@RequestParam int count) {
+        if (count < 1 || count > MAX_GENERATED_CODES) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(certificationService.generateCertificateCodes(count));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteCertification(@PathVariable Long id) {
         certificationService.deleteCertification(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<CertificationDTO> toDTOs(List<Certification> certifications) {
+        return certifications.stream().map(CertificationDTO::from).collect(Collectors.toList());
+    }
 }
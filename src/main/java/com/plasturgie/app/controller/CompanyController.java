@@ -1,11 +1,16 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.CompanyDTO;
+import com.plasturgie.app.dto.PageResponse;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/companies")
@@ -26,49 +32,55 @@ public class CompanyController {
 
     @PostMapping
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Company> createCompany(
+    public ResponseEntity<CompanyDTO> createCompany(
             @Valid @RequestBody Company company,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         Company newCompany = companyService.createCompany(company, currentUser.getId());
-        return ResponseEntity.ok(newCompany);
+        return ResponseEntity.ok(CompanyDTO.from(newCompany));
     }
 
     @GetMapping
-    public ResponseEntity<List<Company>> getAllCompanies() {
-        List<Company> companies = companyService.getAllCompanies();
-        return ResponseEntity.ok(companies);
+    public ResponseEntity<PageResponse<CompanyDTO>> getAllCompanies(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "companyId") Pageable pageable) {
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<Company> companies = after != null
+                ? companyService.getCompaniesAfter(after, PageResponse.limitOf(limit))
+                : companyService.getAllCompanies(pageable);
+        return ResponseEntity.ok(PageResponse.of(companies.map(CompanyDTO::from), CompanyDTO::getCompanyId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Company> getCompanyById(@PathVariable Long id) {
+    public ResponseEntity<CompanyDTO> getCompanyById(@PathVariable Long id) {
         Company company = companyService.getCompanyById(id);
-        return ResponseEntity.ok(company);
+        return ResponseEntity.ok(CompanyDTO.from(company));
     }
 
     @GetMapping("/by-city/{city}")
-    public ResponseEntity<List<Company>> getCompaniesByCity(@PathVariable String city) {
+    public ResponseEntity<List<CompanyDTO>> getCompaniesByCity(@PathVariable String city) {
         List<Company> companies = companyService.getCompaniesByCity(city);
-        return ResponseEntity.ok(companies);
+        return ResponseEntity.ok(toDTOs(companies));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Company>> searchCompanies(@RequestParam String name) {
+    public ResponseEntity<List<CompanyDTO>> searchCompanies(@RequestParam String name) {
         List<Company> companies = companyService.searchCompaniesByName(name);
-        return ResponseEntity.ok(companies);
+        return ResponseEntity.ok(toDTOs(companies));
     }
 
     @GetMapping("/my-company")
     @PreAuthorize("hasRole('COMPANY_REP')")
-    public ResponseEntity<Company> getMyCompany(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<CompanyDTO> getMyCompany(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
         Company company = companyService.getCompanyByRepresentative(user);
-        return ResponseEntity.ok(company);
+        return ResponseEntity.ok(CompanyDTO.from(company));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Company> updateCompany(
+    public ResponseEntity<CompanyDTO> updateCompany(
             @PathVariable Long id, 
             @Valid @RequestBody Company companyDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -81,7 +93,7 @@ public class CompanyController {
         }
         
         Company updatedCompany = companyService.updateCompany(id, companyDetails);
-        return ResponseEntity.ok(updatedCompany);
+        return ResponseEntity.ok(CompanyDTO.from(updatedCompany));
     }
 
     @DeleteMapping("/{id}")
@@ -90,4 +102,8 @@ public class CompanyController {
         companyService.deleteCompany(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<CompanyDTO> toDTOs(List<Company> companies) {
+        return companies.stream().map(CompanyDTO::from).collect(Collectors.toList());
+    }
 }
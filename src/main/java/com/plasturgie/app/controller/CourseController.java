@@ -1,5 +1,8 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.CourseDTO;
+import com.plasturgie.app.dto.CourseSummaryDTO;
+import com.plasturgie.app.dto.PageResponse;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.enums.Mode;
@@ -7,6 +10,9 @@ import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.InstructorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,6 +22,7 @@ import javax.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -29,7 +36,7 @@ public class CourseController {
 
     @PostMapping
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Course> createCourse(
+    public ResponseEntity<CourseDTO> createCourse(
             @Valid @RequestBody Course course,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -46,61 +53,67 @@ public class CourseController {
             }
         }
         
-        return ResponseEntity.ok(newCourse);
+        return ResponseEntity.ok(CourseDTO.from(newCourse));
     }
 
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        List<Course> courses = courseService.getAllCourses();
-        return ResponseEntity.ok(courses);
+    public ResponseEntity<PageResponse<CourseSummaryDTO>> getAllCourses(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "courseId") Pageable pageable) {
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<CourseSummaryDTO> courses = after != null
+                ? courseService.getCoursesAfter(after, PageResponse.limitOf(limit))
+                : courseService.getAllCourses(pageable);
+        return ResponseEntity.ok(PageResponse.of(courses, CourseSummaryDTO::getCourseId));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
-        Course course = courseService.getCourseById(id);
-        return ResponseEntity.ok(course);
+    public ResponseEntity<CourseDTO> getCourseById(@PathVariable Long id) {
+        Course course = courseService.getCourseDetails(id);
+        return ResponseEntity.ok(CourseDTO.from(course));
     }
 
     @GetMapping("/by-category/{category}")
-    public ResponseEntity<List<Course>> getCoursesByCategory(@PathVariable String category) {
+    public ResponseEntity<List<CourseSummaryDTO>> getCoursesByCategory(@PathVariable String category) {
         List<Course> courses = courseService.getCoursesByCategory(category);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @GetMapping("/by-mode/{mode}")
-    public ResponseEntity<List<Course>> getCoursesByMode(@PathVariable Mode mode) {
+    public ResponseEntity<List<CourseSummaryDTO>> getCoursesByMode(@PathVariable Mode mode) {
         List<Course> courses = courseService.getCoursesByMode(mode);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @GetMapping("/by-instructor/{instructorId}")
-    public ResponseEntity<List<Course>> getCoursesByInstructor(@PathVariable Long instructorId) {
+    public ResponseEntity<List<CourseSummaryDTO>> getCoursesByInstructor(@PathVariable Long instructorId) {
         Instructor instructor = instructorService.getInstructorById(instructorId);
         List<Course> courses = courseService.getCoursesByInstructor(instructor);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Course>> searchCourses(@RequestParam String title) {
+    public ResponseEntity<List<CourseSummaryDTO>> searchCourses(@RequestParam String title) {
         List<Course> courses = courseService.searchCoursesByTitle(title);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @GetMapping("/certification-eligible/{eligible}")
-    public ResponseEntity<List<Course>> getCoursesByCertificationEligible(@PathVariable Boolean eligible) {
+    public ResponseEntity<List<CourseSummaryDTO>> getCoursesByCertificationEligible(@PathVariable Boolean eligible) {
         List<Course> courses = courseService.getCoursesByCertificationEligible(eligible);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @GetMapping("/max-price/{maxPrice}")
-    public ResponseEntity<List<Course>> getCoursesByMaxPrice(@PathVariable BigDecimal maxPrice) {
+    public ResponseEntity<List<CourseSummaryDTO>> getCoursesByMaxPrice(@PathVariable BigDecimal maxPrice) {
         List<Course> courses = courseService.getCoursesByMaxPrice(maxPrice);
-        return ResponseEntity.ok(courses);
+        return ResponseEntity.ok(toDTOs(courses));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Course> updateCourse(
+    public ResponseEntity<CourseDTO> updateCourse(
             @PathVariable Long id,
             @Valid @RequestBody Course courseDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -126,12 +139,12 @@ public class CourseController {
         }
         
         Course updatedCourse = courseService.updateCourse(id, courseDetails);
-        return ResponseEntity.ok(updatedCourse);
+        return ResponseEntity.ok(CourseDTO.from(updatedCourse));
     }
 
     @PostMapping("/{courseId}/instructors/{instructorId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<Course> addInstructorToCourse(
+    public ResponseEntity<CourseDTO> addInstructorToCourse(
             @PathVariable Long courseId,
             @PathVariable Long instructorId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -146,12 +159,12 @@ public class CourseController {
         }
         
         Course course = courseService.addInstructorToCourse(courseId, instructorId);
-        return ResponseEntity.ok(course);
+        return ResponseEntity.ok(CourseDTO.from(course));
     }
 
     @DeleteMapping("/{courseId}/instructors/{instructorId}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
-    public ResponseEntity<Course> removeInstructorFromCourse(
+    public ResponseEntity<CourseDTO> removeInstructorFromCourse(
             @PathVariable Long courseId,
             @PathVariable Long instructorId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -166,17 +179,17 @@ public class CourseController {
         }
         
         Course course = courseService.removeInstructorFromCourse(courseId, instructorId);
-        return ResponseEntity.ok(course);
+        return ResponseEntity.ok(CourseDTO.from(course));
     }
 
     @PutMapping("/{courseId}/instructors")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Course> setInstructorsForCourse(
+    public ResponseEntity<CourseDTO> setInstructorsForCourse(
             @PathVariable Long courseId,
             @RequestBody Set<Long> instructorIds) {
         
         Course course = courseService.setInstructorsForCourse(courseId, instructorIds);
-        return ResponseEntity.ok(course);
+        return ResponseEntity.ok(CourseDTO.from(course));
     }
 
     @DeleteMapping("/{id}")
@@ -185,4 +198,8 @@ public class CourseController {
         courseService.deleteCourse(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<CourseSummaryDTO> toDTOs(List<Course> courses) {
+        return courses.stream().map(CourseSummaryDTO::from).collect(Collectors.toList());
+    }
 }
@@ -183,7 +183,7 @@ public class DatabaseProfileController {
             "USER_SEQ", "COMPANY_SEQ", "SERVICE_SEQ", "COURSE_SEQ", 
             "INSTRUCTOR_SEQ", "ENROLLMENT_SEQ", "REVIEW_SEQ", 
             "PAYMENT_SEQ", "CERTIFICATION_SEQ", "EVENT_SEQ", 
-            "EVENT_REGISTRATION_SEQ"
+            "EVENT_REGISTRATION_SEQ", "IMAGE_USER_SEQ"
         );
         result.put("expectedSequences", expectedSequences);
         
@@ -1,5 +1,7 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.EnrollmentDTO;
+import com.plasturgie.app.dto.PageResponse;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.Payment;
@@ -11,6 +13,9 @@ import com.plasturgie.app.service.EnrollmentService;
 import com.plasturgie.app.service.PaymentService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/enrollments")
@@ -38,17 +44,17 @@ public class EnrollmentController {
 
     @PostMapping
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Enrollment> createEnrollment(
+    public ResponseEntity<EnrollmentDTO> createEnrollment(
             @RequestParam Long courseId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         Enrollment enrollment = enrollmentService.createEnrollment(currentUser.getId(), courseId);
-        return ResponseEntity.ok(enrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(enrollment));
     }
 
     @PostMapping("/with-payment")
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Enrollment> createEnrollmentWithPayment(
+    public ResponseEntity<EnrollmentDTO> createEnrollmentWithPayment(
             @RequestParam Long courseId,
             @RequestParam Long paymentId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -61,12 +67,12 @@ public class EnrollmentController {
         
         Enrollment enrollment = enrollmentService.createEnrollmentWithPayment(
                 currentUser.getId(), courseId, paymentId);
-        return ResponseEntity.ok(enrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(enrollment));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Enrollment> getEnrollmentById(
+    public ResponseEntity<EnrollmentDTO> getEnrollmentById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -86,20 +92,20 @@ public class EnrollmentController {
             return ResponseEntity.status(403).build();
         }
         
-        return ResponseEntity.ok(enrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(enrollment));
     }
 
     @GetMapping("/user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByUser(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByUser(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
         List<Enrollment> enrollments = enrollmentService.getEnrollmentsByUser(user);
-        return ResponseEntity.ok(enrollments);
+        return ResponseEntity.ok(toDTOs(enrollments));
     }
 
     @GetMapping("/course/{courseId}")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByCourse(
+    public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByCourse(
             @PathVariable Long courseId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -118,30 +124,37 @@ public class EnrollmentController {
         }
         
         List<Enrollment> enrollments = enrollmentService.getEnrollmentsByCourse(course);
-        return ResponseEntity.ok(enrollments);
+        return ResponseEntity.ok(toDTOs(enrollments));
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByStatus(@PathVariable Status status) {
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStatus(status);
-        return ResponseEntity.ok(enrollments);
+    public ResponseEntity<PageResponse<EnrollmentDTO>> getEnrollmentsByStatus(
+            @PathVariable Status status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "enrollmentId") Pageable pageable) {
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<EnrollmentDTO> enrollments = after != null
+                ? enrollmentService.getEnrollmentsByStatusAfter(status, after, PageResponse.limitOf(limit))
+                : enrollmentService.getEnrollmentsByStatus(status, pageable);
+        return ResponseEntity.ok(PageResponse.of(enrollments, EnrollmentDTO::getEnrollmentId));
     }
 
     @GetMapping("/user/status/{status}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Enrollment>> getEnrollmentsByUserAndStatus(
+    public ResponseEntity<List<EnrollmentDTO>> getEnrollmentsByUserAndStatus(
             @PathVariable Status status,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         User user = userService.findById(currentUser.getId());
         List<Enrollment> enrollments = enrollmentService.getEnrollmentsByUserAndStatus(user, status);
-        return ResponseEntity.ok(enrollments);
+        return ResponseEntity.ok(toDTOs(enrollments));
     }
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Enrollment> updateEnrollmentStatus(
+    public ResponseEntity<EnrollmentDTO> updateEnrollmentStatus(
             @PathVariable Long id,
             @RequestParam Status status,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -162,12 +175,12 @@ public class EnrollmentController {
         }
         
         Enrollment updatedEnrollment = enrollmentService.updateEnrollmentStatus(id, status);
-        return ResponseEntity.ok(updatedEnrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(updatedEnrollment));
     }
 
     @PutMapping("/{id}/complete")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public ResponseEntity<Enrollment> completeEnrollment(
+    public ResponseEntity<EnrollmentDTO> completeEnrollment(
             @PathVariable Long id,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime completionDate,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -193,12 +206,12 @@ public class EnrollmentController {
         }
         
         Enrollment updatedEnrollment = enrollmentService.completeEnrollment(id, completionDate);
-        return ResponseEntity.ok(updatedEnrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(updatedEnrollment));
     }
 
     @PutMapping("/{id}/payment/{paymentId}")
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Enrollment> addPaymentToEnrollment(
+    public ResponseEntity<EnrollmentDTO> addPaymentToEnrollment(
             @PathVariable Long id,
             @PathVariable Long paymentId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -213,7 +226,7 @@ public class EnrollmentController {
         
         Payment payment = paymentService.getPaymentById(paymentId);
         Enrollment updatedEnrollment = enrollmentService.addPaymentToEnrollment(id, payment);
-        return ResponseEntity.ok(updatedEnrollment);
+        return ResponseEntity.ok(EnrollmentDTO.from(updatedEnrollment));
     }
 
     @DeleteMapping("/{id}")
@@ -222,4 +235,8 @@ public class EnrollmentController {
         enrollmentService.deleteEnrollment(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<EnrollmentDTO> toDTOs(List<Enrollment> enrollments) {
+        return enrollments.stream().map(EnrollmentDTO::from).collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.EventDTO;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.User;
@@ -18,6 +19,7 @@ import javax.validation.Valid;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
@@ -34,7 +36,7 @@ public class EventController {
 
     @PostMapping
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Event> createEvent(
+    public ResponseEntity<EventDTO> createEvent(
             @Valid @RequestBody Event event,
             @RequestParam Long companyId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -47,58 +49,58 @@ public class EventController {
         }
         
         Event newEvent = eventService.createEvent(event, companyId);
-        return ResponseEntity.ok(newEvent);
+        return ResponseEntity.ok(EventDTO.from(newEvent));
     }
 
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
+    public ResponseEntity<List<EventDTO>> getAllEvents() {
         List<Event> events = eventService.getAllEvents();
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable Long id) {
+    public ResponseEntity<EventDTO> getEventById(@PathVariable Long id) {
         Event event = eventService.getEventById(id);
-        return ResponseEntity.ok(event);
+        return ResponseEntity.ok(EventDTO.from(event));
     }
 
     @GetMapping("/by-company/{companyId}")
-    public ResponseEntity<List<Event>> getEventsByCompany(@PathVariable Long companyId) {
+    public ResponseEntity<List<EventDTO>> getEventsByCompany(@PathVariable Long companyId) {
         Company company = companyService.getCompanyById(companyId);
         List<Event> events = eventService.getEventsByCompany(company);
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @GetMapping("/upcoming")
-    public ResponseEntity<List<Event>> getUpcomingEvents() {
+    public ResponseEntity<List<EventDTO>> getUpcomingEvents() {
         List<Event> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @GetMapping("/open-registration")
-    public ResponseEntity<List<Event>> getEventsWithOpenRegistration() {
+    public ResponseEntity<List<EventDTO>> getEventsWithOpenRegistration() {
         List<Event> events = eventService.getEventsWithOpenRegistration();
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Event>> searchEvents(@RequestParam String title) {
+    public ResponseEntity<List<EventDTO>> searchEvents(@RequestParam String title) {
         List<Event> events = eventService.searchEventsByTitle(title);
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @GetMapping("/by-date-range")
-    public ResponseEntity<List<Event>> getEventsByDateRange(
+    public ResponseEntity<List<EventDTO>> getEventsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
         
         List<Event> events = eventService.getEventsByDateRange(startDate, endDate);
-        return ResponseEntity.ok(events);
+        return ResponseEntity.ok(toDTOs(events));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Event> updateEvent(
+    public ResponseEntity<EventDTO> updateEvent(
             @PathVariable Long id,
             @Valid @RequestBody Event eventDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -113,12 +115,12 @@ public class EventController {
         }
         
         Event updatedEvent = eventService.updateEvent(id, eventDetails);
-        return ResponseEntity.ok(updatedEvent);
+        return ResponseEntity.ok(EventDTO.from(updatedEvent));
     }
 
     @PostMapping("/{id}/increment-participants")
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Event> incrementParticipantCount(
+    public ResponseEntity<EventDTO> incrementParticipantCount(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -132,12 +134,12 @@ public class EventController {
         }
         
         Event updatedEvent = eventService.incrementParticipantCount(id);
-        return ResponseEntity.ok(updatedEvent);
+        return ResponseEntity.ok(EventDTO.from(updatedEvent));
     }
 
     @PostMapping("/{id}/decrement-participants")
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Event> decrementParticipantCount(
+    public ResponseEntity<EventDTO> decrementParticipantCount(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -151,7 +153,7 @@ public class EventController {
         }
         
         Event updatedEvent = eventService.decrementParticipantCount(id);
-        return ResponseEntity.ok(updatedEvent);
+        return ResponseEntity.ok(EventDTO.from(updatedEvent));
     }
 
     @GetMapping("/{id}/is-full")
@@ -178,4 +180,8 @@ public class EventController {
         eventService.deleteEvent(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<EventDTO> toDTOs(List<Event> events) {
+        return events.stream().map(EventDTO::from).collect(Collectors.toList());
+    }
 }
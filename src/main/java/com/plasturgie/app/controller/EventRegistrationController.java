@@ -1,24 +1,29 @@
 package com.plasturgie.app.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import com.plasturgie.app.dto.EventRegistrationDTO;
+import com.plasturgie.app.dto.PageResponse;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.EventRegistration;
 import com.plasturgie.app.model.User;
-import com.plasturgie.app.model.enums.Status;
 import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.EventRegistrationService;
 import com.plasturgie.app.service.EventService;
 import com.plasturgie.app.service.UserService;
 
 import javax.validation.Valid;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/event-registrations")
@@ -35,48 +40,53 @@ public class EventRegistrationController {
     
     @PostMapping
     @PreAuthorize("hasAnyRole('LEARNER', 'COMPANY_REP', 'ADMIN')")
-    public ResponseEntity<EventRegistration> createRegistration(
+    public CompletableFuture<ResponseEntity<EventRegistrationDTO>> createRegistration(
             @AuthenticationPrincipal UserPrincipal currentUser,
             @Valid @RequestBody Map<String, Long> payload) {
         
         Long eventId = payload.get("eventId");
-        Event event = eventService.getEventById(eventId);
-        User user = userService.findById(currentUser.getId());
-        
-        EventRegistration registration = new EventRegistration();
-        registration.setUser(user);
-        registration.setEvent(event);
-        registration.setStatus(Status.PENDING);
-        registration.setRegistrationDate(LocalDateTime.now());
-        registration.setAttended(false);
+        if (eventId == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
         
-        return ResponseEntity.ok(eventRegistrationService.createRegistration(registration));
+        // Completes asynchronously once the admission queue has written the batch;
+        // the returned status is PENDING, or WAITLISTED when the event is full.
+        // Nothing is loaded here, so a queued request holds no pooled connection.
+        return eventRegistrationService.submitRegistration(currentUser.getId(), eventId)
+                .thenApply(registration -> ResponseEntity.ok(EventRegistrationDTO.from(registration)));
     }
     
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventRegistration>> getAllRegistrations() {
-        return ResponseEntity.ok(eventRegistrationService.getAllRegistrations());
+    public ResponseEntity<PageResponse<EventRegistrationDTO>> getAllRegistrations(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "registrationId") Pageable pageable) {
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<EventRegistrationDTO> registrations = after != null
+                ? eventRegistrationService.getRegistrationsAfter(after, PageResponse.limitOf(limit))
+                : eventRegistrationService.getAllRegistrations(pageable);
+        return ResponseEntity.ok(PageResponse.of(registrations, EventRegistrationDTO::getRegistrationId));
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('LEARNER', 'COMPANY_REP', 'ADMIN')")
-    public ResponseEntity<EventRegistration> getRegistrationById(@PathVariable Long id) {
-        return ResponseEntity.ok(eventRegistrationService.getRegistrationById(id));
+    public ResponseEntity<EventRegistrationDTO> getRegistrationById(@PathVariable Long id) {
+        return ResponseEntity.ok(EventRegistrationDTO.from(eventRegistrationService.getRegistrationById(id)));
     }
     
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN') or #userId == authentication.principal.id")
-    public ResponseEntity<List<EventRegistration>> getRegistrationsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<EventRegistrationDTO>> getRegistrationsByUser(@PathVariable Long userId) {
         User user = userService.findById(userId);
-        return ResponseEntity.ok(eventRegistrationService.getRegistrationsByUser(user));
+        return ResponseEntity.ok(toDTOs(eventRegistrationService.getRegistrationsByUser(user)));
     }
     
     @GetMapping("/event/{eventId}")
     @PreAuthorize("hasAnyRole('COMPANY_REP', 'ADMIN')")
-    public ResponseEntity<List<EventRegistration>> getRegistrationsByEvent(@PathVariable Long eventId) {
+    public ResponseEntity<List<EventRegistrationDTO>> getRegistrationsByEvent(@PathVariable Long eventId) {
         Event event = eventService.getEventById(eventId);
-        return ResponseEntity.ok(eventRegistrationService.getRegistrationsByEvent(event));
+        return ResponseEntity.ok(toDTOs(eventRegistrationService.getRegistrationsByEvent(event)));
     }
     
     @PutMapping("/{id}/attendance")
@@ -96,4 +106,8 @@ public class EventRegistrationController {
         eventRegistrationService.cancelRegistration(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<EventRegistrationDTO> toDTOs(List<EventRegistration> registrations) {
+        return registrations.stream().map(EventRegistrationDTO::from).collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -1,24 +1,34 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.ImageUserMetadataDTO;
 import com.plasturgie.app.model.ImageUser;
 import com.plasturgie.app.model.User; // Import User model
 import com.plasturgie.app.service.ImageUserService;
 import com.plasturgie.app.service.UserService; // Import UserService
+import com.plasturgie.app.storage.ImageVariant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.Optional; // Keep this import
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/image-users") // Base path for image-related operations
@@ -33,17 +43,17 @@ public class ImageUserController {
     private UserService userService; // Service to fetch User entities
 
     @GetMapping
-    public List<ImageUser> getAllImageUsers() {
-        log.info("GET /api/image-users - retrieving all image users metadata (inefficient)");
-        // Assumes ImageUser has manual methods needed for serialization
-        return imageUserService.getAllImageUsers();
+    public Page<ImageUserMetadataDTO> getAllImageUsers(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.info("GET /api/image-users - retrieving image users metadata, page: {}", pageable);
+        // Metadata projection: the image_data LOB is never selected
+        return imageUserService.getAllImageMetadata(pageable);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ImageUser> getImageUserById(@PathVariable Long id) {
+    public ResponseEntity<ImageUserMetadataDTO> getImageUserById(@PathVariable Long id) {
         log.info("GET /api/image-users/{} - retrieving image user by id", id);
-        // Assumes imageUserService.getImageUserById *DOES* return Optional<ImageUser>
-        return imageUserService.getImageUserById(id)
+        // Metadata projection: neither the LOB nor the owning User is serialized
+        return imageUserService.getImageMetadata(id)
                 .map(ResponseEntity::ok)
                 .orElseThrow(() -> {
                     log.warn("ImageUser not found with id: {}", id);
@@ -52,28 +62,68 @@ public class ImageUserController {
     }
 
     @GetMapping("/{id}/image")
-    public ResponseEntity<byte[]> getImageData(@PathVariable Long id) {
-        log.info("GET /api/image-users/{}/image - retrieving raw image data", id);
-        // Assumes imageUserService.getImageUserById *DOES* return Optional<ImageUser>
-        return imageUserService.getImageUserById(id)
+    public ResponseEntity<StreamingResponseBody> getImageData(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String version,
+            @RequestParam(value = "size", required = false) Integer size,
+            WebRequest webRequest) {
+        log.info("GET /api/image-users/{}/image - retrieving raw image data (size: {})", id, size);
+        // Metadata only: conditional requests are answered without reading the image content
+        return imageUserService.getImageMetadata(id)
                 .map(imageUser -> {
+                    // A scaled variant when ?size= is given and the image supports it, the original otherwise.
+                    // The variant ETag comes from the metadata, so a 304 never decodes or scales anything;
+                    // originals already known to be undecodable get their own ETag here.
+                    String variantETag = size != null ? resolveVariantETag(imageUser, size) : null;
+                    String etag = variantETag != null ? variantETag : imageUser.getStorageKey();
+
+                    // Strong ETag from the content hash, Last-Modified from the row timestamps
+                    LocalDateTime modifiedAt = imageUser.getUpdatedAt() != null ? imageUser.getUpdatedAt() : imageUser.getCreatedAt();
+                    long lastModified = modifiedAt != null ? modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+
+                    // URLs versioned by the content hash never change content and can be cached for good
+                    String cacheControl = imageUser.getStorageKey() != null && imageUser.getStorageKey().equals(version)
+                            ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().getHeaderValue() + ", immutable"
+                            : CacheControl.noCache().getHeaderValue();
+
+                    if (webRequest.checkNotModified(etag, lastModified)) {
+                        log.debug("Image {} not modified", id);
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                                .<StreamingResponseBody>build();
+                    }
+
+                    ImageVariant variant = variantETag != null ? resolveImageVariant(imageUser, size) : null;
+                    String contentType = variant != null ? variant.getContentType() : imageUser.getContentType();
+                    Long contentLength = variant != null ? Long.valueOf(variant.getContentLength()) : imageUser.getContentLength();
+
                     // Assumes ImageUser has manual getContentType() and getFilename() methods
-                    log.debug("Found image for id: {}, content type: {}", id, imageUser.getContentType());
+                    log.debug("Found image for id: {}, content type: {}", id, contentType);
                     HttpHeaders headers = new HttpHeaders();
                     MediaType mediaType = MediaType.APPLICATION_OCTET_STREAM; // Default
-                    if (imageUser.getContentType() != null) {
+                    if (contentType != null) {
                         try {
-                            mediaType = MediaType.parseMediaType(imageUser.getContentType());
+                            mediaType = MediaType.parseMediaType(contentType);
                         } catch (Exception e) {
-                            log.warn("Invalid content type '{}' stored for image id: {}. Defaulting to octet-stream.", imageUser.getContentType(), id, e);
+                            log.warn("Invalid content type '{}' stored for image id: {}. Defaulting to octet-stream.", contentType, id, e);
                         }
                     }
                     headers.setContentType(mediaType);
+                    headers.setCacheControl(cacheControl);
+                    // checkNotModified has already written the ETag, so none is set here. An original that turns
+                    // out not to be decodable is served under the variant ETag this once; later requests see it
+                    // in the undecodable cache and get the original's ETag before the conditional check.
+                    if (contentLength != null) {
+                        headers.setContentLength(contentLength);
+                    }
                     // Optional: Add Content-Disposition for download prompting
                     // headers.setContentDispositionFormData("inline", imageUser.getFilename()); // or "attachment"
 
-                    // Assumes ImageUser has manual getImageData() method
-                    return new ResponseEntity<>(imageUser.getImageData(), headers, HttpStatus.OK);
+                    // Copy the content straight to the response so memory stays constant per request
+                    StreamingResponseBody body = variant != null
+                            ? outputStream -> imageUserService.streamImageVariant(variant, outputStream)
+                            : outputStream -> imageUserService.streamImageData(imageUser, outputStream);
+                    return new ResponseEntity<>(body, headers, HttpStatus.OK);
                 })
                 .orElseThrow(() -> {
                     log.warn("Image data not found for id: {}", id);
@@ -81,6 +131,25 @@ public class ImageUserController {
                 });
     }
 
+    private String resolveVariantETag(ImageUserMetadataDTO imageUser, int size) {
+        try {
+            return imageUserService.getImageVariantETag(imageUser, size).orElse(null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private ImageVariant resolveImageVariant(ImageUserMetadataDTO imageUser, int size) {
+        try {
+            return imageUserService.getImageVariant(imageUser, size).orElse(null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            log.error("Failed to generate {}px variant for image id: {}", size, imageUser.getId(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to process image file", e);
+        }
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Void> createImageUser(
             @RequestParam("file") MultipartFile file,
@@ -114,11 +183,11 @@ public class ImageUserController {
             // Assumes ImageUser has manual setters
             imageUser.setFilename(file.getOriginalFilename());
             imageUser.setContentType(file.getContentType());
-            imageUser.setImageData(file.getBytes());
             imageUser.setUser(user); // Use the retrieved, non-null user
             // Timestamps should be handled by JPA Auditing if configured (@CreationTimestamp, @UpdateTimestamp)
 
-            ImageUser savedImageUser = imageUserService.saveImageUser(imageUser);
+            // Stream the upload into the LOB instead of loading it with file.getBytes()
+            ImageUser savedImageUser = imageUserService.saveImageUser(imageUser, file.getInputStream(), file.getSize());
 
             // Assumes ImageUser has manual getId() method
             log.info("Successfully saved image with id: {} for user id: {}", savedImageUser.getId(), userId);
@@ -158,9 +227,10 @@ public class ImageUserController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<ImageUser> getImageUsersByUserId(@PathVariable Long userId) {
-        log.info("GET /api/image-users/user/{} - retrieving images for user", userId);
-        // Assumes ImageUser has manual methods needed for serialization
-        return imageUserService.getImageUsersByUserId(userId);
+    public Page<ImageUserMetadataDTO> getImageUsersByUserId(@PathVariable Long userId,
+                                                            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        log.info("GET /api/image-users/user/{} - retrieving images for user, page: {}", userId, pageable);
+        // Metadata projection: the image_data LOB is never selected
+        return imageUserService.getImageMetadataByUserId(userId, pageable);
     }
 }
\ No newline at end of file
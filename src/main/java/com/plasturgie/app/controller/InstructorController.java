@@ -1,5 +1,6 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.InstructorDTO;
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.security.UserPrincipal;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/instructors")
@@ -27,56 +29,56 @@ public class InstructorController {
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Instructor> createInstructor(
+    public ResponseEntity<InstructorDTO> createInstructor(
             @Valid @RequestBody Instructor instructor,
             @RequestParam Long userId) {
         
         Instructor newInstructor = instructorService.createInstructor(instructor, userId);
-        return ResponseEntity.ok(newInstructor);
+        return ResponseEntity.ok(InstructorDTO.from(newInstructor));
     }
 
     @GetMapping
-    public ResponseEntity<List<Instructor>> getAllInstructors() {
+    public ResponseEntity<List<InstructorDTO>> getAllInstructors() {
         List<Instructor> instructors = instructorService.getAllInstructors();
-        return ResponseEntity.ok(instructors);
+        return ResponseEntity.ok(toDTOs(instructors));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Instructor> getInstructorById(@PathVariable Long id) {
-        Instructor instructor = instructorService.getInstructorById(id);
-        return ResponseEntity.ok(instructor);
+    public ResponseEntity<InstructorDTO> getInstructorById(@PathVariable Long id) {
+        Instructor instructor = instructorService.getInstructorWithCourses(id);
+        return ResponseEntity.ok(InstructorDTO.withCourses(instructor));
     }
 
     @GetMapping("/by-user/{userId}")
-    public ResponseEntity<Instructor> getInstructorByUser(@PathVariable Long userId) {
+    public ResponseEntity<InstructorDTO> getInstructorByUser(@PathVariable Long userId) {
         User user = userService.findById(userId);
         Instructor instructor = instructorService.getInstructorByUser(user);
-        return ResponseEntity.ok(instructor);
+        return ResponseEntity.ok(InstructorDTO.from(instructor));
     }
 
     @GetMapping("/by-expertise/{expertise}")
-    public ResponseEntity<List<Instructor>> getInstructorsByExpertise(@PathVariable String expertise) {
+    public ResponseEntity<List<InstructorDTO>> getInstructorsByExpertise(@PathVariable String expertise) {
         List<Instructor> instructors = instructorService.getInstructorsByExpertise(expertise);
-        return ResponseEntity.ok(instructors);
+        return ResponseEntity.ok(toDTOs(instructors));
     }
 
     @GetMapping("/by-min-rating/{minRating}")
-    public ResponseEntity<List<Instructor>> getInstructorsByMinRating(@PathVariable BigDecimal minRating) {
+    public ResponseEntity<List<InstructorDTO>> getInstructorsByMinRating(@PathVariable BigDecimal minRating) {
         List<Instructor> instructors = instructorService.getInstructorsByMinRating(minRating);
-        return ResponseEntity.ok(instructors);
+        return ResponseEntity.ok(toDTOs(instructors));
     }
 
     @GetMapping("/me")
     @PreAuthorize("hasRole('INSTRUCTOR')")
-    public ResponseEntity<Instructor> getCurrentInstructor(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<InstructorDTO> getCurrentInstructor(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
         Instructor instructor = instructorService.getInstructorByUser(user);
-        return ResponseEntity.ok(instructor);
+        return ResponseEntity.ok(InstructorDTO.from(instructor));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @instructorSecurity.isCurrentInstructor(#id, #currentUser)")
-    public ResponseEntity<Instructor> updateInstructor(
+    public ResponseEntity<InstructorDTO> updateInstructor(
             @PathVariable Long id,
             @Valid @RequestBody Instructor instructorDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -89,14 +91,14 @@ public class InstructorController {
         }
         
         Instructor updatedInstructor = instructorService.updateInstructor(id, instructorDetails);
-        return ResponseEntity.ok(updatedInstructor);
+        return ResponseEntity.ok(InstructorDTO.from(updatedInstructor));
     }
 
     @PutMapping("/{id}/update-rating")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Instructor> updateInstructorRating(@PathVariable Long id) {
+    public ResponseEntity<InstructorDTO> updateInstructorRating(@PathVariable Long id) {
         Instructor instructor = instructorService.updateInstructorRating(id);
-        return ResponseEntity.ok(instructor);
+        return ResponseEntity.ok(InstructorDTO.from(instructor));
     }
 
     @DeleteMapping("/{id}")
@@ -105,4 +107,8 @@ public class InstructorController {
         instructorService.deleteInstructor(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<InstructorDTO> toDTOs(List<Instructor> instructors) {
+        return instructors.stream().map(InstructorDTO::from).collect(Collectors.toList());
+    }
 }
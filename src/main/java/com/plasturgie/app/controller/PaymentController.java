@@ -1,5 +1,7 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.PageResponse;
+import com.plasturgie.app.dto.PaymentDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Event;
@@ -11,18 +13,24 @@ import com.plasturgie.app.service.EventService;
 import com.plasturgie.app.service.PaymentService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/payments")
 public class PaymentController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int IDEMPOTENCY_KEY_MAX_LENGTH = 64;
+
     @Autowired
     private PaymentService paymentService;
     
@@ -37,43 +45,70 @@ public class PaymentController {
 
     @PostMapping("/course/{courseId}")
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Payment> initiateCoursePayment(
+    public CompletableFuture<ResponseEntity<PaymentDTO>> initiateCoursePayment(
             @PathVariable Long courseId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
         User user = userService.findById(currentUser.getId());
         Course course = courseService.getCourseById(courseId);
         
-        Payment payment = paymentService.initiatePayment(user, course, null);
-        return ResponseEntity.ok(payment);
+        // Repeating a request with the same Idempotency-Key returns the original payment
+        return paymentService.initiatePayment(user, course, null, idempotencyKey)
+                .thenApply(payment -> ResponseEntity.ok(PaymentDTO.from(payment)));
     }
     
     @PostMapping("/event/{eventId}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Payment> initiateEventPayment(
+    public CompletableFuture<ResponseEntity<PaymentDTO>> initiateEventPayment(
             @PathVariable Long eventId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
+        if (!isValidIdempotencyKey(idempotencyKey)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
         User user = userService.findById(currentUser.getId());
         Event event = eventService.getEventById(eventId);
         
-        Payment payment = paymentService.initiatePayment(user, null, event);
-        return ResponseEntity.ok(payment);
+        return paymentService.initiatePayment(user, null, event, idempotencyKey)
+                .thenApply(payment -> ResponseEntity.ok(PaymentDTO.from(payment)));
     }
     
     @GetMapping("/user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Payment>> getUserPayments(
-            @AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<PageResponse<PaymentDTO>> getUserPayments(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @PageableDefault(size = PageResponse.DEFAULT_LIMIT, sort = "paymentId") Pageable pageable) {
         
         User user = userService.findById(currentUser.getId());
-        List<Payment> payments = paymentService.getPaymentsByUser(user);
-        return ResponseEntity.ok(payments);
+        // ?after=<id>&limit= switches to keyset pagination (start with after=0)
+        Slice<PaymentDTO> payments = after != null
+                ? paymentService.getPaymentsByUserAfter(user, after, PageResponse.limitOf(limit))
+                : paymentService.getPaymentsByUser(user, pageable);
+        return ResponseEntity.ok(PageResponse.of(payments, PaymentDTO::getPaymentId));
+    }
+    
+    @GetMapping("/gateway")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getGatewayStatus() {
+        return ResponseEntity.ok(paymentService.getGatewayStatus());
+    }
+    
+    @GetMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getReconciliationStatus() {
+        return ResponseEntity.ok(paymentService.getReconciliationStatus());
     }
     
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Payment> getPaymentById(
+    public ResponseEntity<PaymentDTO> getPaymentById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
@@ -85,7 +120,7 @@ public class PaymentController {
             return ResponseEntity.status(403).build();
         }
         
-        return ResponseEntity.ok(payment);
+        return ResponseEntity.ok(PaymentDTO.from(payment));
     }
     
     @GetMapping("/verify/{token}")
@@ -115,4 +150,9 @@ public class PaymentController {
             return ResponseEntity.badRequest().body("Payment verification failed");
         }
     }
+
+    private static boolean isValidIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey == null
+                || (!idempotencyKey.isBlank() && idempotencyKey.length() <= IDEMPOTENCY_KEY_MAX_LENGTH);
+    }
 }
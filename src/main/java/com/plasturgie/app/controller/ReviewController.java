@@ -1,5 +1,6 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.ReviewDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.Review;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/reviews")
@@ -36,58 +38,58 @@ public class ReviewController {
 
     @PostMapping("/course/{courseId}")
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Review> createCourseReview(
+    public ResponseEntity<ReviewDTO> createCourseReview(
             @PathVariable Long courseId,
             @Valid @RequestBody Review review,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         Review newReview = reviewService.createCourseReview(review, currentUser.getId(), courseId);
-        return ResponseEntity.ok(newReview);
+        return ResponseEntity.ok(ReviewDTO.from(newReview));
     }
 
     @PostMapping("/instructor/{instructorId}")
     @PreAuthorize("hasRole('LEARNER') or hasRole('ADMIN')")
-    public ResponseEntity<Review> createInstructorReview(
+    public ResponseEntity<ReviewDTO> createInstructorReview(
             @PathVariable Long instructorId,
             @Valid @RequestBody Review review,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         Review newReview = reviewService.createInstructorReview(review, currentUser.getId(), instructorId);
-        return ResponseEntity.ok(newReview);
+        return ResponseEntity.ok(ReviewDTO.from(newReview));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Review> getReviewById(@PathVariable Long id) {
+    public ResponseEntity<ReviewDTO> getReviewById(@PathVariable Long id) {
         Review review = reviewService.getReviewById(id);
-        return ResponseEntity.ok(review);
+        return ResponseEntity.ok(ReviewDTO.from(review));
     }
 
     @GetMapping("/course/{courseId}")
-    public ResponseEntity<List<Review>> getReviewsByCourse(@PathVariable Long courseId) {
+    public ResponseEntity<List<ReviewDTO>> getReviewsByCourse(@PathVariable Long courseId) {
         Course course = courseService.getCourseById(courseId);
         List<Review> reviews = reviewService.getReviewsByCourse(course);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok(toDTOs(reviews));
     }
 
     @GetMapping("/instructor/{instructorId}")
-    public ResponseEntity<List<Review>> getReviewsByInstructor(@PathVariable Long instructorId) {
+    public ResponseEntity<List<ReviewDTO>> getReviewsByInstructor(@PathVariable Long instructorId) {
         Instructor instructor = instructorService.getInstructorById(instructorId);
         List<Review> reviews = reviewService.getReviewsByInstructor(instructor);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok(toDTOs(reviews));
     }
 
     @GetMapping("/user")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<List<Review>> getReviewsByUser(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<List<ReviewDTO>> getReviewsByUser(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
         List<Review> reviews = reviewService.getReviewsByUser(user);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok(toDTOs(reviews));
     }
 
     @GetMapping("/rating/{rating}")
-    public ResponseEntity<List<Review>> getReviewsByRating(@PathVariable Integer rating) {
+    public ResponseEntity<List<ReviewDTO>> getReviewsByRating(@PathVariable Integer rating) {
         List<Review> reviews = reviewService.getReviewsByRating(rating);
-        return ResponseEntity.ok(reviews);
+        return ResponseEntity.ok(toDTOs(reviews));
     }
 
     @GetMapping("/course/{courseId}/average")
@@ -104,7 +106,7 @@ public class ReviewController {
 
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Review> updateReview(
+    public ResponseEntity<ReviewDTO> updateReview(
             @PathVariable Long id,
             @Valid @RequestBody Review reviewDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -118,7 +120,7 @@ public class ReviewController {
         }
         
         Review updatedReview = reviewService.updateReview(id, reviewDetails);
-        return ResponseEntity.ok(updatedReview);
+        return ResponseEntity.ok(ReviewDTO.from(updatedReview));
     }
 
     @DeleteMapping("/{id}")
@@ -138,4 +140,8 @@ public class ReviewController {
         reviewService.deleteReview(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<ReviewDTO> toDTOs(List<Review> reviews) {
+        return reviews.stream().map(ReviewDTO::from).collect(Collectors.toList());
+    }
 }
@@ -1,5 +1,6 @@
 package com.plasturgie.app.controller;
 
+import com.plasturgie.app.dto.ServiceDTO;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Service;
 import com.plasturgie.app.security.UserPrincipal;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/services")
@@ -30,7 +32,7 @@ public class ServiceController {
 
     @PostMapping
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Service> createService(
+    public ResponseEntity<ServiceDTO> createService(
             @Valid @RequestBody Service service,
             @RequestParam Long companyId,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -43,43 +45,43 @@ public class ServiceController {
         }
         
         Service newService = serviceService.createService(service, companyId);
-        return ResponseEntity.ok(newService);
+        return ResponseEntity.ok(ServiceDTO.from(newService));
     }
 
     @GetMapping
-    public ResponseEntity<List<Service>> getAllServices() {
+    public ResponseEntity<List<ServiceDTO>> getAllServices() {
         List<Service> services = serviceService.getAllServices();
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok(toDTOs(services));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Service> getServiceById(@PathVariable Long id) {
+    public ResponseEntity<ServiceDTO> getServiceById(@PathVariable Long id) {
         Service service = serviceService.getServiceById(id);
-        return ResponseEntity.ok(service);
+        return ResponseEntity.ok(ServiceDTO.from(service));
     }
 
     @GetMapping("/by-company/{companyId}")
-    public ResponseEntity<List<Service>> getServicesByCompany(@PathVariable Long companyId) {
+    public ResponseEntity<List<ServiceDTO>> getServicesByCompany(@PathVariable Long companyId) {
         Company company = companyService.getCompanyById(companyId);
         List<Service> services = serviceService.getServicesByCompany(company);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok(toDTOs(services));
     }
 
     @GetMapping("/by-category/{category}")
-    public ResponseEntity<List<Service>> getServicesByCategory(@PathVariable String category) {
+    public ResponseEntity<List<ServiceDTO>> getServicesByCategory(@PathVariable String category) {
         List<Service> services = serviceService.getServicesByCategory(category);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok(toDTOs(services));
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Service>> searchServices(@RequestParam String name) {
+    public ResponseEntity<List<ServiceDTO>> searchServices(@RequestParam String name) {
         List<Service> services = serviceService.searchServicesByName(name);
-        return ResponseEntity.ok(services);
+        return ResponseEntity.ok(toDTOs(services));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('COMPANY_REP') or hasRole('ADMIN')")
-    public ResponseEntity<Service> updateService(
+    public ResponseEntity<ServiceDTO> updateService(
             @PathVariable Long id,
             @Valid @RequestBody Service serviceDetails,
             @AuthenticationPrincipal UserPrincipal currentUser) {
@@ -94,7 +96,7 @@ public class ServiceController {
         }
         
         Service updatedService = serviceService.updateService(id, serviceDetails);
-        return ResponseEntity.ok(updatedService);
+        return ResponseEntity.ok(ServiceDTO.from(updatedService));
     }
 
     @DeleteMapping("/{id}")
@@ -115,4 +117,8 @@ public class ServiceController {
         serviceService.deleteService(id);
         return ResponseEntity.ok().build();
     }
+
+    private static List<ServiceDTO> toDTOs(List<Service> services) {
+        return services.stream().map(ServiceDTO::from).collect(Collectors.toList());
+    }
 }
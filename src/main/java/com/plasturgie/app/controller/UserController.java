@@ -1,6 +1,7 @@
 package com.plasturgie.app.controller;
 
 import com.plasturgie.app.dto.UserDTO;
+import com.plasturgie.app.dto.UserProfileDTO;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.security.UserPrincipal;
 import com.plasturgie.app.service.UserService;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -22,37 +24,37 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<UserProfileDTO>> getAllUsers() {
         List<User> users = userService.findAllUsers();
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok(users.stream().map(UserProfileDTO::from).collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id, #currentUser)")
-    public ResponseEntity<User> getUserById(
+    public ResponseEntity<UserProfileDTO> getUserById(
             @PathVariable Long id,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         User user = userService.findById(id);
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserProfileDTO.from(user));
     }
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<User> getCurrentUser(@AuthenticationPrincipal UserPrincipal currentUser) {
+    public ResponseEntity<UserProfileDTO> getCurrentUser(@AuthenticationPrincipal UserPrincipal currentUser) {
         User user = userService.findById(currentUser.getId());
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserProfileDTO.from(user));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isCurrentUser(#id, #currentUser)")
-    public ResponseEntity<User> updateUser(
+    public ResponseEntity<UserProfileDTO> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserDTO userDTO,
             @AuthenticationPrincipal UserPrincipal currentUser) {
         
         User updatedUser = userService.updateUser(id, userDTO);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserProfileDTO.from(updatedUser));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,92 @@
+package com.plasturgie.app.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of issuing certificates for a course cohort: one entry per learner
+ * with a COMPLETED enrollment, either issued, skipped or failed.
+ */
+public class CertificationBatchResultDTO {
+
+    private final Long courseId;
+    private final int completedEnrollments;
+    private final List<IssuedCertificate> issued;
+    private final List<Long> alreadyCertifiedUserIds;
+    private final List<FailedCertificate> failed;
+
+    public CertificationBatchResultDTO(Long courseId, int completedEnrollments, List<IssuedCertificate> issued,
+                                       List<Long> alreadyCertifiedUserIds, List<FailedCertificate> failed) {
+        this.courseId = courseId;
+        this.completedEnrollments = completedEnrollments;
+        this.issued = issued;
+        this.alreadyCertifiedUserIds = alreadyCertifiedUserIds;
+        this.failed = failed;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public int getCompletedEnrollments() {
+        return completedEnrollments;
+    }
+
+    public List<IssuedCertificate> getIssued() {
+        return issued;
+    }
+
+    public List<Long> getAlreadyCertifiedUserIds() {
+        return alreadyCertifiedUserIds;
+    }
+
+    public List<FailedCertificate> getFailed() {
+        return failed;
+    }
+
+    public static class IssuedCertificate {
+
+        private final Long userId;
+        private final Long certificationId;
+        private final String certificateCode;
+
+        public IssuedCertificate(Long userId, Long certificationId, String certificateCode) {
+            this.userId = userId;
+            this.certificationId = certificationId;
+            this.certificateCode = certificateCode;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public Long getCertificationId() {
+            return certificationId;
+        }
+
+        public String getCertificateCode() {
+            return certificateCode;
+        }
+    }
+
+    /**
+     * A learner whose certificate could not be saved; the rest of the cohort is unaffected.
+     */
+    public static class FailedCertificate {
+
+        private final Long userId;
+        private final String reason;
+
+        public FailedCertificate(Long userId, String reason) {
+            this.userId = userId;
+            this.reason = reason;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
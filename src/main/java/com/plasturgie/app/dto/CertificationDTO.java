@@ -0,0 +1,100 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Certification;
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Certification fields returned by the certification endpoints.
+ * Carries the holder's name rather than the User entity, so no account data is serialized.
+ */
+public class CertificationDTO {
+
+    private final Long certificationId;
+    private final Long userId;
+    private final String firstName;
+    private final String lastName;
+    private final Long courseId;
+    private final String courseTitle;
+    private final String certificateCode;
+    private final LocalDateTime issueDate;
+    private final LocalDateTime expiryDate;
+    private final String status;
+    private final LocalDateTime createdAt;
+
+    public CertificationDTO(Long certificationId, Long userId, String firstName, String lastName,
+                            Long courseId, String courseTitle, String certificateCode,
+                            LocalDateTime issueDate, LocalDateTime expiryDate, String status,
+                            LocalDateTime createdAt) {
+        this.certificationId = certificationId;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.certificateCode = certificateCode;
+        this.issueDate = issueDate;
+        this.expiryDate = expiryDate;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public static CertificationDTO from(Certification certification) {
+        User user = certification.getUser();
+        Course course = certification.getCourse();
+        return new CertificationDTO(certification.getCertificationId(),
+                user != null ? user.getUserId() : null,
+                user != null ? user.getFirstName() : null,
+                user != null ? user.getLastName() : null,
+                course != null ? course.getCourseId() : null,
+                course != null ? course.getTitle() : null,
+                certification.getCertificateCode(), certification.getIssueDate(),
+                certification.getExpiryDate(), certification.getStatus(), certification.getCreatedAt());
+    }
+
+    public Long getCertificationId() {
+        return certificationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public String getCertificateCode() {
+        return certificateCode;
+    }
+
+    public LocalDateTime getIssueDate() {
+        return issueDate;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.plasturgie.app.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * The two certification fields public verification needs, read without loading the entity.
+ */
+public class CertificationValidityDTO {
+
+    private final String status;
+    private final LocalDateTime expiryDate;
+
+    public CertificationValidityDTO(String status, LocalDateTime expiryDate) {
+        this.status = status;
+        this.expiryDate = expiryDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+}
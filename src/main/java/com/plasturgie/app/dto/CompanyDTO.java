@@ -0,0 +1,86 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Company;
+
+import java.time.LocalDateTime;
+
+/**
+ * Company fields returned by the company endpoints.
+ * The representative is referenced by ID and services are listed through /api/services/by-company.
+ */
+public class CompanyDTO {
+
+    private final Long companyId;
+    private final String name;
+    private final String description;
+    private final String address;
+    private final String city;
+    private final String phone;
+    private final String email;
+    private final String website;
+    private final Long representativeId;
+    private final LocalDateTime createdAt;
+
+    public CompanyDTO(Long companyId, String name, String description, String address, String city,
+                      String phone, String email, String website, Long representativeId,
+                      LocalDateTime createdAt) {
+        this.companyId = companyId;
+        this.name = name;
+        this.description = description;
+        this.address = address;
+        this.city = city;
+        this.phone = phone;
+        this.email = email;
+        this.website = website;
+        this.representativeId = representativeId;
+        this.createdAt = createdAt;
+    }
+
+    public static CompanyDTO from(Company company) {
+        return new CompanyDTO(company.getCompanyId(), company.getName(), company.getDescription(),
+                company.getAddress(), company.getCity(), company.getPhone(), company.getEmail(),
+                company.getWebsite(),
+                company.getRepresentative() != null ? company.getRepresentative().getUserId() : null,
+                company.getCreatedAt());
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getWebsite() {
+        return website;
+    }
+
+    public Long getRepresentativeId() {
+        return representativeId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.enums.Mode;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Course detail returned by the course endpoints, with instructors and reviews.
+ */
+public class CourseDTO {
+
+    private final Long courseId;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final Integer durationHours;
+    private final Mode mode;
+    private final BigDecimal price;
+    private final Boolean certificationEligible;
+    private final List<InstructorSummaryDTO> instructors;
+    private final List<ReviewDTO> reviews;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public CourseDTO(Long courseId, String title, String description, String category, Integer durationHours,
+                     Mode mode, BigDecimal price, Boolean certificationEligible,
+                     List<InstructorSummaryDTO> instructors, List<ReviewDTO> reviews,
+                     LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.courseId = courseId;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.durationHours = durationHours;
+        this.mode = mode;
+        this.price = price;
+        this.certificationEligible = certificationEligible;
+        this.instructors = instructors;
+        this.reviews = reviews;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static CourseDTO from(Course course) {
+        return new CourseDTO(course.getCourseId(), course.getTitle(), course.getDescription(), course.getCategory(),
+                course.getDurationHours(), course.getMode(), course.getPrice(), course.getCertificationEligible(),
+                course.getInstructors().stream().map(InstructorSummaryDTO::from).collect(Collectors.toList()),
+                course.getReviews().stream().map(ReviewDTO::from).collect(Collectors.toList()),
+                course.getCreatedAt(), course.getUpdatedAt());
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getDurationHours() {
+        return durationHours;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Boolean getCertificationEligible() {
+        return certificationEligible;
+    }
+
+    public List<InstructorSummaryDTO> getInstructors() {
+        return instructors;
+    }
+
+    public List<ReviewDTO> getReviews() {
+        return reviews;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.enums.Mode;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Course fields shown in course listings: no description, enrollments or reviews.
+ */
+public class CourseSummaryDTO {
+
+    private final Long courseId;
+    private final String title;
+    private final String category;
+    private final Integer durationHours;
+    private final Mode mode;
+    private final BigDecimal price;
+    private final Boolean certificationEligible;
+    private final List<InstructorSummaryDTO> instructors;
+
+    public CourseSummaryDTO(Long courseId, String title, String category, Integer durationHours, Mode mode,
+                            BigDecimal price, Boolean certificationEligible,
+                            List<InstructorSummaryDTO> instructors) {
+        this.courseId = courseId;
+        this.title = title;
+        this.category = category;
+        this.durationHours = durationHours;
+        this.mode = mode;
+        this.price = price;
+        this.certificationEligible = certificationEligible;
+        this.instructors = instructors;
+    }
+
+    public static CourseSummaryDTO from(Course course) {
+        return new CourseSummaryDTO(course.getCourseId(), course.getTitle(), course.getCategory(),
+                course.getDurationHours(), course.getMode(), course.getPrice(), course.getCertificationEligible(),
+                course.getInstructors().stream().map(InstructorSummaryDTO::from).collect(Collectors.toList()));
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public Integer getDurationHours() {
+        return durationHours;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Boolean getCertificationEligible() {
+        return certificationEligible;
+    }
+
+    public List<InstructorSummaryDTO> getInstructors() {
+        return instructors;
+    }
+}
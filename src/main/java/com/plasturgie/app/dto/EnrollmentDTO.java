@@ -0,0 +1,79 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.Enrollment;
+import com.plasturgie.app.model.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Enrollment fields returned by the enrollment endpoints.
+ * Built with a JPQL constructor projection in EnrollmentRepository, or from a loaded Enrollment.
+ */
+public class EnrollmentDTO {
+
+    private final Long enrollmentId;
+    private final Long userId;
+    private final Long courseId;
+    private final String courseTitle;
+    private final LocalDateTime enrollmentDate;
+    private final Status status;
+    private final Long paymentId;
+    private final LocalDateTime completionDate;
+
+    public EnrollmentDTO(Long enrollmentId, Long userId, Long courseId, String courseTitle,
+                         LocalDateTime enrollmentDate, Status status, Long paymentId,
+                         LocalDateTime completionDate) {
+        this.enrollmentId = enrollmentId;
+        this.userId = userId;
+        this.courseId = courseId;
+        this.courseTitle = courseTitle;
+        this.enrollmentDate = enrollmentDate;
+        this.status = status;
+        this.paymentId = paymentId;
+        this.completionDate = completionDate;
+    }
+
+    public static EnrollmentDTO from(Enrollment enrollment) {
+        Course course = enrollment.getCourse();
+        return new EnrollmentDTO(enrollment.getEnrollmentId(),
+                enrollment.getUser() != null ? enrollment.getUser().getUserId() : null,
+                course != null ? course.getCourseId() : null,
+                course != null ? course.getTitle() : null,
+                enrollment.getEnrollmentDate(), enrollment.getStatus(),
+                enrollment.getPayment() != null ? enrollment.getPayment().getPaymentId() : null,
+                enrollment.getCompletionDate());
+    }
+
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public LocalDateTime getEnrollmentDate() {
+        return enrollmentDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public LocalDateTime getCompletionDate() {
+        return completionDate;
+    }
+}
@@ -0,0 +1,102 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Event fields returned by the event endpoints, with the organizing company flattened.
+ * Built from an Event loaded with its company fetch plan.
+ */
+public class EventDTO {
+
+    private final Long eventId;
+    private final String title;
+    private final String description;
+    private final String location;
+    private final LocalDateTime eventDate;
+    private final LocalDateTime registrationDeadline;
+    private final BigDecimal price;
+    private final Integer maxParticipants;
+    private final Integer currentParticipants;
+    private final Long companyId;
+    private final String companyName;
+    private final LocalDateTime createdAt;
+
+    public EventDTO(Long eventId, String title, String description, String location, LocalDateTime eventDate,
+                    LocalDateTime registrationDeadline, BigDecimal price, Integer maxParticipants,
+                    Integer currentParticipants, Long companyId, String companyName, LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.title = title;
+        this.description = description;
+        this.location = location;
+        this.eventDate = eventDate;
+        this.registrationDeadline = registrationDeadline;
+        this.price = price;
+        this.maxParticipants = maxParticipants;
+        this.currentParticipants = currentParticipants;
+        this.companyId = companyId;
+        this.companyName = companyName;
+        this.createdAt = createdAt;
+    }
+
+    public static EventDTO from(Event event) {
+        Company company = event.getCompany();
+        return new EventDTO(event.getEventId(), event.getTitle(), event.getDescription(), event.getLocation(),
+                event.getEventDate(), event.getRegistrationDeadline(), event.getPrice(),
+                event.getMaxParticipants(), event.getCurrentParticipants(),
+                company != null ? company.getCompanyId() : null,
+                company != null ? company.getName() : null,
+                event.getCreatedAt());
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getEventDate() {
+        return eventDate;
+    }
+
+    public LocalDateTime getRegistrationDeadline() {
+        return registrationDeadline;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public Integer getCurrentParticipants() {
+        return currentParticipants;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
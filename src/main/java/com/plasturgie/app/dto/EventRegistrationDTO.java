@@ -0,0 +1,70 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.EventRegistration;
+import com.plasturgie.app.model.enums.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event registration fields returned by the registration endpoints.
+ * Built with a JPQL constructor projection in EventRegistrationRepository, or from a loaded EventRegistration.
+ */
+public class EventRegistrationDTO {
+
+    private final Long registrationId;
+    private final Long userId;
+    private final Long eventId;
+    private final String eventTitle;
+    private final Status status;
+    private final LocalDateTime registrationDate;
+    private final Boolean attended;
+
+    public EventRegistrationDTO(Long registrationId, Long userId, Long eventId, String eventTitle,
+                                Status status, LocalDateTime registrationDate, Boolean attended) {
+        this.registrationId = registrationId;
+        this.userId = userId;
+        this.eventId = eventId;
+        this.eventTitle = eventTitle;
+        this.status = status;
+        this.registrationDate = registrationDate;
+        this.attended = attended;
+    }
+
+    public static EventRegistrationDTO from(EventRegistration registration) {
+        Event event = registration.getEvent();
+        return new EventRegistrationDTO(registration.getRegistrationId(),
+                registration.getUser() != null ? registration.getUser().getUserId() : null,
+                event != null ? event.getEventId() : null,
+                event != null ? event.getTitle() : null,
+                registration.getStatus(), registration.getRegistrationDate(), registration.getAttended());
+    }
+
+    public Long getRegistrationId() {
+        return registrationId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getEventTitle() {
+        return eventTitle;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+
+    public Boolean getAttended() {
+        return attended;
+    }
+}
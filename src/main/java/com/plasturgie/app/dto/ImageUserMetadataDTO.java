@@ -0,0 +1,74 @@
+package com.plasturgie.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+
+/**
+ * Image metadata read without touching the image_data LOB column.
+ * Built with a JPQL constructor projection in ImageUserRepository.
+ */
+public class ImageUserMetadataDTO {
+
+    private final Long id;
+    private final String filename;
+    private final String contentType;
+    private final String storageKey;
+    private final Long contentLength;
+    private final Long userId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public ImageUserMetadataDTO(Long id, String filename, String contentType, String storageKey,
+                                Long contentLength, Long userId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.storageKey = storageKey;
+        this.contentLength = contentLength;
+        this.userId = userId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @JsonIgnore
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Content URL versioned by the content hash, so it can be cached indefinitely
+     */
+    public String getImageUrl() {
+        String url = "/api/image-users/" + id + "/image";
+        return storageKey != null ? url + "?v=" + storageKey : url;
+    }
+}
@@ -0,0 +1,98 @@
+package com.plasturgie.app.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Instructor fields returned by the instructor endpoints.
+ * Taught courses are listed as summaries, and only when the instructor was loaded with them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class InstructorDTO {
+
+    private final Long instructorId;
+    private final Long userId;
+    private final String firstName;
+    private final String lastName;
+    private final String bio;
+    private final String expertise;
+    private final BigDecimal rating;
+    private final List<CourseSummaryDTO> courses;
+    private final LocalDateTime createdAt;
+
+    public InstructorDTO(Long instructorId, Long userId, String firstName, String lastName, String bio,
+                         String expertise, BigDecimal rating, List<CourseSummaryDTO> courses,
+                         LocalDateTime createdAt) {
+        this.instructorId = instructorId;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.bio = bio;
+        this.expertise = expertise;
+        this.rating = rating;
+        this.courses = courses;
+        this.createdAt = createdAt;
+    }
+
+    public static InstructorDTO from(Instructor instructor) {
+        return from(instructor, null);
+    }
+
+    public static InstructorDTO withCourses(Instructor instructor) {
+        return from(instructor, instructor.getCourses().stream()
+                .map(CourseSummaryDTO::from)
+                .collect(Collectors.toList()));
+    }
+
+    private static InstructorDTO from(Instructor instructor, List<CourseSummaryDTO> courses) {
+        User user = instructor.getUser();
+        return new InstructorDTO(instructor.getInstructorId(),
+                user != null ? user.getUserId() : null,
+                user != null ? user.getFirstName() : null,
+                user != null ? user.getLastName() : null,
+                instructor.getBio(), instructor.getExpertise(), instructor.getRating(),
+                courses, instructor.getCreatedAt());
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getBio() {
+        return bio;
+    }
+
+    public String getExpertise() {
+        return expertise;
+    }
+
+    public BigDecimal getRating() {
+        return rating;
+    }
+
+    public List<CourseSummaryDTO> getCourses() {
+        return courses;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,62 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.User;
+
+import java.math.BigDecimal;
+
+/**
+ * Instructor fields embedded in course responses.
+ */
+public class InstructorSummaryDTO {
+
+    private final Long instructorId;
+    private final Long userId;
+    private final String firstName;
+    private final String lastName;
+    private final String expertise;
+    private final BigDecimal rating;
+
+    public InstructorSummaryDTO(Long instructorId, Long userId, String firstName, String lastName,
+                                String expertise, BigDecimal rating) {
+        this.instructorId = instructorId;
+        this.userId = userId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.expertise = expertise;
+        this.rating = rating;
+    }
+
+    public static InstructorSummaryDTO from(Instructor instructor) {
+        User user = instructor.getUser();
+        return new InstructorSummaryDTO(instructor.getInstructorId(),
+                user != null ? user.getUserId() : null,
+                user != null ? user.getFirstName() : null,
+                user != null ? user.getLastName() : null,
+                instructor.getExpertise(), instructor.getRating());
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getExpertise() {
+        return expertise;
+    }
+
+    public BigDecimal getRating() {
+        return rating;
+    }
+}
@@ -0,0 +1,100 @@
+package com.plasturgie.app.dto;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uniform response body for list endpoints.
+ *
+ * Offset pages (?page=&size=&sort=) fill page, totalElements and totalPages.
+ * Keyset pages (?after=id&limit=) are ordered by ID and fill nextCursor instead,
+ * which is passed back as the next request's "after" parameter.
+ */
+public class PageResponse<T> {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final Integer page;
+    private final Long totalElements;
+    private final Integer totalPages;
+    private final Long nextCursor;
+
+    private PageResponse(List<T> content, int size, boolean hasNext, Integer page,
+                         Long totalElements, Integer totalPages, Long nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.page = page;
+        this.totalElements = totalElements;
+        this.totalPages = totalPages;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Builds the response from an offset page, or from a keyset slice ordered by ID.
+     *
+     * @param slice The page or slice returned by the repository
+     * @param idExtractor Extracts the ID used as the keyset cursor
+     * @return The response body
+     */
+    public static <T> PageResponse<T> of(Slice<T> slice, Function<T, Long> idExtractor) {
+        if (slice instanceof Page) {
+            Page<T> page = (Page<T>) slice;
+            return new PageResponse<>(page.getContent(), page.getSize(), page.hasNext(),
+                    page.getNumber(), page.getTotalElements(), page.getTotalPages(), null);
+        }
+        List<T> content = slice.getContent();
+        Long nextCursor = slice.hasNext() && !content.isEmpty()
+                ? idExtractor.apply(content.get(content.size() - 1))
+                : null;
+        return new PageResponse<>(content, slice.getSize(), slice.hasNext(), null, null, null, nextCursor);
+    }
+
+    /**
+     * Clamps a requested keyset limit to [1, MAX_LIMIT], defaulting to DEFAULT_LIMIT.
+     *
+     * @param limit The requested limit, may be null
+     * @return The limit to use
+     */
+    public static int limitOf(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public Long getTotalElements() {
+        return totalElements;
+    }
+
+    public Integer getTotalPages() {
+        return totalPages;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,102 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Payment;
+import com.plasturgie.app.model.enums.Status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment fields returned by the payment endpoints, with related entities reduced to their IDs.
+ * Built with a JPQL constructor projection in PaymentRepository, or from a loaded Payment.
+ */
+public class PaymentDTO {
+
+    private final Long paymentId;
+    private final Long userId;
+    private final Long courseId;
+    private final Long eventId;
+    private final BigDecimal amount;
+    private final String currency;
+    private final String paymentMethod;
+    private final String clictopayToken;
+    private final String transactionReference;
+    private final Status status;
+    private final LocalDateTime paymentDate;
+    private final LocalDateTime createdAt;
+
+    public PaymentDTO(Long paymentId, Long userId, Long courseId, Long eventId, BigDecimal amount,
+                      String currency, String paymentMethod, String clictopayToken,
+                      String transactionReference, Status status, LocalDateTime paymentDate,
+                      LocalDateTime createdAt) {
+        this.paymentId = paymentId;
+        this.userId = userId;
+        this.courseId = courseId;
+        this.eventId = eventId;
+        this.amount = amount;
+        this.currency = currency;
+        this.paymentMethod = paymentMethod;
+        this.clictopayToken = clictopayToken;
+        this.transactionReference = transactionReference;
+        this.status = status;
+        this.paymentDate = paymentDate;
+        this.createdAt = createdAt;
+    }
+
+    public static PaymentDTO from(Payment payment) {
+        return new PaymentDTO(payment.getPaymentId(),
+                payment.getUser() != null ? payment.getUser().getUserId() : null,
+                payment.getCourse() != null ? payment.getCourse().getCourseId() : null,
+                payment.getEvent() != null ? payment.getEvent().getEventId() : null,
+                payment.getAmount(), payment.getCurrency(), payment.getPaymentMethod(), payment.getClictopayToken(),
+                payment.getTransactionReference(), payment.getStatus(), payment.getPaymentDate(), payment.getCreatedAt());
+    }
+
+    public Long getPaymentId() {
+        return paymentId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public String getClictopayToken() {
+        return clictopayToken;
+    }
+
+    public String getTransactionReference() {
+        return transactionReference;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getPaymentDate() {
+        return paymentDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Review;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review fields returned by the review endpoints and embedded in course responses.
+ * The reviewed course or instructor is referenced by ID.
+ */
+public class ReviewDTO {
+
+    private final Long reviewId;
+    private final Long userId;
+    private final Long courseId;
+    private final Long instructorId;
+    private final Integer rating;
+    private final String comment;
+    private final LocalDateTime createdAt;
+
+    public ReviewDTO(Long reviewId, Long userId, Long courseId, Long instructorId, Integer rating,
+                     String comment, LocalDateTime createdAt) {
+        this.reviewId = reviewId;
+        this.userId = userId;
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+    }
+
+    public static ReviewDTO from(Review review) {
+        return new ReviewDTO(review.getReviewId(),
+                review.getUser() != null ? review.getUser().getUserId() : null,
+                review.getCourse() != null ? review.getCourse().getCourseId() : null,
+                review.getInstructor() != null ? review.getInstructor().getInstructorId() : null,
+                review.getRating(), review.getComment(), review.getCreatedAt());
+    }
+
+    public Long getReviewId() {
+        return reviewId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,74 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service fields returned by the service endpoints, with the offering company's ID and name.
+ */
+public class ServiceDTO {
+
+    private final Long serviceId;
+    private final Long companyId;
+    private final String companyName;
+    private final String name;
+    private final String description;
+    private final String category;
+    private final String priceRange;
+    private final LocalDateTime createdAt;
+
+    public ServiceDTO(Long serviceId, Long companyId, String companyName, String name, String description,
+                      String category, String priceRange, LocalDateTime createdAt) {
+        this.serviceId = serviceId;
+        this.companyId = companyId;
+        this.companyName = companyName;
+        this.name = name;
+        this.description = description;
+        this.category = category;
+        this.priceRange = priceRange;
+        this.createdAt = createdAt;
+    }
+
+    public static ServiceDTO from(Service service) {
+        Company company = service.getCompany();
+        return new ServiceDTO(service.getServiceId(),
+                company != null ? company.getCompanyId() : null,
+                company != null ? company.getName() : null,
+                service.getName(), service.getDescription(), service.getCategory(),
+                service.getPriceRange(), service.getCreatedAt());
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getPriceRange() {
+        return priceRange;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
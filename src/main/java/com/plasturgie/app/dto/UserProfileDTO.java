@@ -0,0 +1,71 @@
+package com.plasturgie.app.dto;
+
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * User fields returned by the user endpoints; credentials and tokens are never included.
+ */
+public class UserProfileDTO {
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final Role role;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public UserProfileDTO(Long userId, String username, String email, String firstName, String lastName,
+                          Role role, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static UserProfileDTO from(User user) {
+        return new UserProfileDTO(user.getUserId(), user.getUsername(), user.getEmail(),
+                user.getFirstName(), user.getLastName(), user.getRole(),
+                user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
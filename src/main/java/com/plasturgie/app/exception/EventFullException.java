@@ -0,0 +1,12 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EventFullException extends RuntimeException {
+    
+    public EventFullException(Long eventId) {
+        super(String.format("Event with id: '%s' is already full", eventId));
+    }
+}
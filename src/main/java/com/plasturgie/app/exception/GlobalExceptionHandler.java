@@ -64,6 +64,33 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         response.getWriter().write(new ObjectMapper().writeValueAsString(data));
     }
 
+    @ExceptionHandler({EventFullException.class, IdempotencyKeyReusedException.class})
+    public void handleConflictException(HttpServletResponse response, RuntimeException ex) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.CONFLICT.value());
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", HttpStatus.CONFLICT.value());
+        data.put("error", "Conflict");
+        data.put("message", ex.getMessage());
+        
+        response.getWriter().write(new ObjectMapper().writeValueAsString(data));
+    }
+
+    @ExceptionHandler({RegistrationQueueFullException.class, PaymentGatewayUnavailableException.class})
+    public void handleServiceUnavailableException(HttpServletResponse response, RuntimeException ex) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        data.put("error", "Service Unavailable");
+        data.put("message", ex.getMessage());
+        
+        response.getWriter().write(new ObjectMapper().writeValueAsString(data));
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -0,0 +1,12 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyReusedException extends RuntimeException {
+    
+    public IdempotencyKeyReusedException(String idempotencyKey) {
+        super(String.format("Idempotency key '%s' was already used for a different payment", idempotencyKey));
+    }
+}
@@ -0,0 +1,12 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PaymentGatewayUnavailableException extends RuntimeException {
+    
+    public PaymentGatewayUnavailableException(String reason) {
+        super("The payment gateway is temporarily unavailable (" + reason + "), please try again shortly");
+    }
+}
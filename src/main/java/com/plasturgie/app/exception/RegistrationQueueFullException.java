@@ -0,0 +1,12 @@
+package com.plasturgie.app.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class RegistrationQueueFullException extends RuntimeException {
+    
+    public RegistrationQueueFullException() {
+        super("Too many registrations are being processed, please try again shortly");
+    }
+}
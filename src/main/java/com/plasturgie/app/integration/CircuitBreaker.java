@@ -0,0 +1,145 @@
+package com.plasturgie.app.integration;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Count-based circuit breaker.
+ * While CLOSED it records the outcome of the last windowSize calls and opens once the failure
+ * rate reaches the threshold. While OPEN every call is rejected until openDuration has passed,
+ * then a single trial call is let through (HALF_OPEN): success closes the breaker, failure
+ * opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int failureRateThreshold;
+    private final long openDurationMillis;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    /**
+     * @param windowSize Number of recent calls the failure rate is computed over
+     * @param failureRateThreshold Failure rate in percent at which the breaker opens
+     * @param openDurationMillis How long the breaker stays open before allowing a trial call
+     */
+    public CircuitBreaker(int windowSize, int failureRateThreshold, long openDurationMillis) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * Asks to make a call. Every permitted call must be followed by onSuccess or onFailure.
+     *
+     * @return true if the call may proceed, false if the breaker rejects it
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        rejections.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        successes.incrementAndGet();
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        failures.incrementAndGet();
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount == windowSize && windowFailures * 100 >= failureRateThreshold * windowSize) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Failure rate in percent over the current window, or -1 until the window has filled
+     */
+    public synchronized int getFailureRate() {
+        return windowCount < windowSize ? -1 : windowFailures * 100 / windowSize;
+    }
+
+    public long getSuccessCount() {
+        return successes.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    public long getRejectedCount() {
+        return rejections.get();
+    }
+
+    private void record(boolean failed) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+}
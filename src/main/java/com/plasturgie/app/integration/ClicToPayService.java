@@ -1,159 +1,437 @@
 package com.plasturgie.app.integration;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plasturgie.app.exception.PaymentGatewayUnavailableException;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.enums.Status;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PreDestroy;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
+/**
+ * Client for the ClicToPay gateway.
+ * Uses one shared JDK HttpClient, so connections are kept alive and reused, with a connect
+ * timeout and a per-request timeout. Calls are non-blocking: the *Async methods complete on a
+ * small dedicated executor, and the blocking variants simply wait for them.
+ * None of these methods should be called inside a database transaction.
+ *
+ * Every call goes through a bulkhead (a cap on concurrent calls) and a circuit breaker, both of
+ * which fail fast with PaymentGatewayUnavailableException. Only verify calls are retried, since
+ * they are idempotent: with jittered exponential backoff, and only while the retry budget
+ * (a share of recent first attempts) allows it.
+ *
+ * Each HTTP attempt is timed as clictopay.requests, tagged by operation and outcome; the
+ * circuit state, concurrent calls, rejections and retries are published as meters too.
+ */
 @Service
 public class ClicToPayService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(ClicToPayService.class);
-    
+
     @Value("${clictopay.api.url}")
     private String apiUrl;
-    
+
     @Value("${clictopay.api.key}")
     private String apiKey;
-    
+
     @Value("${clictopay.merchant.id}")
     private String merchantId;
-    
-    private final RestTemplate restTemplate;
-    
-    public ClicToPayService() {
-        this.restTemplate = new RestTemplate();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final int verifyRetries;
+    private final long retryBackoff;
+    private final int retryBudgetPercent;
+    // Retry budget in hundredths of a retry: each first attempt adds retryBudgetPercent, a retry costs 100
+    private final AtomicInteger retryBudget = new AtomicInteger();
+
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    public ClicToPayService(
+            MeterRegistry meterRegistry,
+            @Value("${clictopay.http.connect-timeout:2000}") long connectTimeout,
+            @Value("${clictopay.http.request-timeout:5000}") long requestTimeout,
+            @Value("${clictopay.http.threads:4}") int threads,
+            @Value("${clictopay.resilience.window-size:20}") int windowSize,
+            @Value("${clictopay.resilience.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${clictopay.resilience.open-duration:30000}") long openDuration,
+            @Value("${clictopay.resilience.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${clictopay.resilience.verify-retries:2}") int verifyRetries,
+            @Value("${clictopay.resilience.retry-backoff:200}") long retryBackoff,
+            @Value("${clictopay.resilience.retry-budget-percent:20}") int retryBudgetPercent) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "clictopay-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .executor(executor)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeout);
+
+        this.circuitBreaker = new CircuitBreaker(windowSize, failureRateThreshold, openDuration);
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.verifyRetries = verifyRetries;
+        this.retryBackoff = retryBackoff;
+        this.retryBudgetPercent = retryBudgetPercent;
+
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("clictopay.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("clictopay.calls.active", bulkhead, permits -> maxConcurrentCalls - permits.availablePermits())
+                .description("Gateway calls in flight")
+                .register(meterRegistry);
+        FunctionCounter.builder("clictopay.calls.rejected", circuitBreaker, CircuitBreaker::getRejectedCount)
+                .description("Calls rejected without reaching the gateway")
+                .tag("reason", "circuit_open")
+                .register(meterRegistry);
+        FunctionCounter.builder("clictopay.calls.rejected", bulkheadRejections, AtomicLong::get)
+                .description("Calls rejected without reaching the gateway")
+                .tag("reason", "bulkhead_full")
+                .register(meterRegistry);
+        FunctionCounter.builder("clictopay.calls.retried", retries, AtomicLong::get)
+                .description("Verify calls retried after a timeout or server error")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
     }
-    
+
     /**
      * Initiates a payment transaction with ClicToPay
-     * 
+     *
      * @param amount The payment amount
      * @param currency The currency code (TND)
      * @param description Payment description
      * @return Payment token from ClicToPay
      */
     public String initiatePayment(BigDecimal amount, String currency, String description) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("amount", amount);
-            requestBody.put("currency", currency);
-            requestBody.put("merchantId", merchantId);
-            requestBody.put("description", description);
-            requestBody.put("transactionReference", generateTransactionReference());
-            requestBody.put("returnUrl", "https://plasturgie-tunisie.com/payment/callback");
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    apiUrl + "/payments/initiate", 
-                    request, 
-                    Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return (String) response.getBody().get("token");
-            } else {
-                logger.error("Failed to initiate payment: {}", response);
-                throw new RuntimeException("Failed to initiate payment");
-            }
-        } catch (Exception e) {
-            logger.error("Error initiating payment with ClicToPay", e);
-            throw new RuntimeException("Payment initiation failed", e);
-        }
+        return await(initiatePaymentAsync(amount, currency, description));
+    }
+
+    /**
+     * Initiates a payment transaction with ClicToPay without blocking the caller
+     *
+     * @param amount The payment amount
+     * @param currency The currency code (TND)
+     * @param description Payment description
+     * @return Completes with the payment token, or fails when the gateway refuses or cannot be reached
+     */
+    public CompletableFuture<String> initiatePaymentAsync(BigDecimal amount, String currency, String description) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("amount", amount);
+        requestBody.put("currency", currency);
+        requestBody.put("merchantId", merchantId);
+        requestBody.put("description", description);
+        requestBody.put("transactionReference", generateTransactionReference());
+        requestBody.put("returnUrl", "https://plasturgie-tunisie.com/payment/callback");
+
+        return call("initiate", postJson("/payments/initiate", requestBody))
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        Throwable cause = unwrap(ex);
+                        if (cause instanceof PaymentGatewayUnavailableException) {
+                            throw (PaymentGatewayUnavailableException) cause;
+                        }
+                        logger.error("Error initiating payment with ClicToPay", cause);
+                        throw new PaymentGatewayUnavailableException("no response");
+                    }
+                    Map<String, Object> body = readBody(response);
+                    if (isSuccessful(response) && body.get("token") != null) {
+                        return (String) body.get("token");
+                    }
+                    logger.error("Failed to initiate payment: HTTP {} {}", response.statusCode(), response.body());
+                    throw new RuntimeException("Failed to initiate payment");
+                });
     }
-    
+
     /**
      * Verifies the payment status with ClicToPay
-     * 
+     *
      * @param paymentToken The token received from initiation
-     * @return Payment status (COMPLETED, FAILED, etc.)
+     * @return COMPLETED, FAILED or PENDING, as for verifyPaymentAsync
      */
     public Status verifyPayment(String paymentToken) {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "Bearer " + apiKey);
-            
-            HttpEntity<String> request = new HttpEntity<>(headers);
-            
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    apiUrl + "/payments/verify/" + paymentToken,
-                    org.springframework.http.HttpMethod.GET,
-                    request,
-                    Map.class);
-            
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                String status = (String) response.getBody().get("status");
-                
-                switch (status.toLowerCase()) {
-                    case "completed":
-                        return Status.COMPLETED;
-                    case "failed":
-                        return Status.FAILED;
-                    case "pending":
+        return await(verifyPaymentAsync(paymentToken));
+    }
+
+    /**
+     * Verifies the payment status with ClicToPay without blocking the caller.
+     * Only an explicit "completed" or "failed" settles the payment. Anything else leaves it
+     * PENDING for the next verification, since the gateway may still complete it: transport
+     * errors and open circuit, any non-2xx answer (timeouts, throttling, auth errors, 5xx after
+     * retries), and a 2xx whose status is missing, unreadable or unknown.
+     *
+     * @param paymentToken The token received from initiation
+     * @return Completes with COMPLETED, FAILED or PENDING
+     */
+    public CompletableFuture<Status> verifyPaymentAsync(String paymentToken) {
+        HttpRequest request = request("/payments/verify/" + paymentToken).GET().build();
+
+        return callWithRetry("verify", request, 0)
+                .handle((response, ex) -> {
+                    if (ex != null || !isSuccessful(response)) {
+                        logger.warn("Could not verify payment with ClicToPay, leaving it pending: {}",
+                                ex != null ? unwrap(ex).toString() : "HTTP " + response.statusCode());
                         return Status.PENDING;
-                    default:
-                        return Status.FAILED;
-                }
-            } else {
-                logger.error("Failed to verify payment: {}", response);
-                return Status.FAILED;
-            }
-        } catch (Exception e) {
-            logger.error("Error verifying payment with ClicToPay", e);
-            return Status.FAILED;
-        }
+                    }
+                    Object status = readBody(response).get("status");
+                    String value = status instanceof String ? ((String) status).toLowerCase(Locale.ROOT) : "";
+                    switch (value) {
+                        case "completed":
+                            return Status.COMPLETED;
+                        case "failed":
+                            return Status.FAILED;
+                        case "pending":
+                            return Status.PENDING;
+                        default:
+                            logger.warn("Unrecognised ClicToPay verify response, leaving payment pending: {}", response.body());
+                            return Status.PENDING;
+                    }
+                });
     }
-    
+
     /**
      * Processes a payment refund
-     * 
+     *
      * @param payment The payment to refund
      * @return true if refund was successful
      */
     public boolean refundPayment(Payment payment) {
+        return await(refundPaymentAsync(payment));
+    }
+
+    /**
+     * Processes a payment refund without blocking the caller
+     *
+     * @param payment The payment to refund
+     * @return Completes with true if refund was successful
+     */
+    public CompletableFuture<Boolean> refundPaymentAsync(Payment payment) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("transactionReference", payment.getTransactionReference());
+        requestBody.put("amount", payment.getAmount());
+
+        // Refunds are not idempotent, so they are never retried
+        return call("refund", postJson("/payments/refund", requestBody))
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        logger.error("Error refunding payment with ClicToPay", unwrap(ex));
+                        return false;
+                    }
+                    return isSuccessful(response);
+                });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(apiUrl + path))
+                .timeout(requestTimeout)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey);
+    }
+
+    private HttpRequest postJson(String path, Map<String, Object> body) {
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
-            
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("transactionReference", payment.getTransactionReference());
-            requestBody.put("amount", payment.getAmount());
-            
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-            
-            ResponseEntity<Map> response = restTemplate.postForEntity(
-                    apiUrl + "/payments/refund", 
-                    request, 
-                    Map.class);
-            
-            return response.getStatusCode().is2xxSuccessful();
-            
-        } catch (Exception e) {
-            logger.error("Error refunding payment with ClicToPay", e);
-            return false;
+            return request(path)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize ClicToPay request", e);
+        }
+    }
+
+    /**
+     * Whether calls are currently being let through, i.e. the circuit is not open
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Resilience figures for monitoring
+     *
+     * @return Circuit state and call counters
+     */
+    public Map<String, Object> getResilienceStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitState", circuitBreaker.getState());
+        stats.put("failureRate", circuitBreaker.getFailureRate());
+        stats.put("successfulCalls", circuitBreaker.getSuccessCount());
+        stats.put("failedCalls", circuitBreaker.getFailureCount());
+        stats.put("rejectedByCircuit", circuitBreaker.getRejectedCount());
+        stats.put("rejectedByBulkhead", bulkheadRejections.get());
+        stats.put("activeCalls", maxConcurrentCalls - bulkhead.availablePermits());
+        stats.put("retries", retries.get());
+        return stats;
+    }
+
+    private CompletableFuture<HttpResponse<String>> call(String operation, HttpRequest request) {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.incrementAndGet();
+            return CompletableFuture.failedFuture(new PaymentGatewayUnavailableException("too many concurrent calls"));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            return CompletableFuture.failedFuture(new PaymentGatewayUnavailableException("circuit open"));
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, ex) -> {
+                    bulkhead.release();
+                    sample.stop(meterRegistry.timer("clictopay.requests", "operation", operation, "outcome", outcome(response, ex)));
+                    if (ex != null || isServerError(response)) {
+                        circuitBreaker.onFailure();
+                    } else {
+                        circuitBreaker.onSuccess();
+                    }
+                });
+    }
+
+    private CompletableFuture<HttpResponse<String>> callWithRetry(String operation, HttpRequest request, int attempt) {
+        if (attempt == 0) {
+            retryBudget.accumulateAndGet(retryBudgetPercent, (budget, deposit) -> Math.min(budget + deposit, 1000));
         }
+        return call(operation, request)
+                .handle((response, ex) -> {
+                    // Fast-fail rejections are not retried: that would defeat the breaker and the bulkhead
+                    boolean retryable = ex != null
+                            ? !(unwrap(ex) instanceof PaymentGatewayUnavailableException)
+                            : isServerError(response) || isThrottledOrTimedOut(response);
+                    if (!retryable || attempt >= verifyRetries || !takeRetry()) {
+                        return ex != null
+                                ? CompletableFuture.<HttpResponse<String>>failedFuture(unwrap(ex))
+                                : CompletableFuture.completedFuture(response);
+                    }
+                    // Full jitter: a random delay of up to retryBackoff * 2^attempt
+                    long delay = ThreadLocalRandom.current().nextLong(retryBackoff * (1L << attempt) + 1);
+                    Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor);
+                    return CompletableFuture.runAsync(retries::incrementAndGet, delayed)
+                            .thenCompose(ignored -> callWithRetry(operation, request, attempt + 1));
+                })
+                .thenCompose(Function.identity());
     }
-    
+
+    private boolean takeRetry() {
+        int budget;
+        do {
+            budget = retryBudget.get();
+            if (budget < 100) {
+                return false;
+            }
+        } while (!retryBudget.compareAndSet(budget, budget - 100));
+        return true;
+    }
+
+    private static boolean isSuccessful(HttpResponse<String> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static boolean isServerError(HttpResponse<String> response) {
+        return response.statusCode() >= 500;
+    }
+
+    // 408 and 429 are transient like a 5xx and worth another attempt
+    private static boolean isThrottledOrTimedOut(HttpResponse<String> response) {
+        return response.statusCode() == 408 || response.statusCode() == 429;
+    }
+
+    private static String outcome(HttpResponse<String> response, Throwable ex) {
+        if (ex != null) {
+            return unwrap(ex) instanceof HttpTimeoutException ? "TIMEOUT" : "ERROR";
+        }
+        int status = response.statusCode();
+        if (status < 300) {
+            return "SUCCESS";
+        }
+        if (status < 400) {
+            return "REDIRECTION";
+        }
+        return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+
+    private Map<String, Object> readBody(HttpResponse<String> response) {
+        String body = response.body();
+        if (body == null || body.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {});
+            return parsed != null ? parsed : Collections.emptyMap();
+        } catch (IOException e) {
+            logger.warn("Unreadable ClicToPay response: {}", body);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            // Bounded by the connect and request timeouts
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Generates a unique transaction reference
-     * 
+     *
      * @return A unique transaction reference string
      */
     private String generateTransactionReference() {
@@ -0,0 +1,65 @@
+package com.plasturgie.app.integration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local stand-in for the ClicToPay API, enabled with the "clictopay-stub" profile.
+ * Every response is delayed by clictopay.stub.latency milliseconds without holding a
+ * servlet thread, and clictopay.stub.failure-rate percent of them are 503 errors, so gateway
+ * latency and faults can be injected while load testing the payment endpoints.
+ */
+@RestController
+@Profile("clictopay-stub")
+@RequestMapping("/clictopay-stub")
+public class ClicToPayStubController {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @Value("${clictopay.stub.latency:2000}")
+    private long latency;
+
+    @Value("${clictopay.stub.failure-rate:0}")
+    private int failureRate;
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @PostMapping("/payments/initiate")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> initiate(@RequestBody Map<String, Object> request) {
+        return delayed(Map.of("token", UUID.randomUUID().toString(), "status", "pending"));
+    }
+
+    @GetMapping("/payments/verify/{token}")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> verify(@PathVariable String token) {
+        return delayed(Map.of("token", token, "status", "completed"));
+    }
+
+    @PostMapping("/payments/refund")
+    public DeferredResult<ResponseEntity<Map<String, Object>>> refund(@RequestBody Map<String, Object> request) {
+        return delayed(Map.of("status", "refunded"));
+    }
+
+    private DeferredResult<ResponseEntity<Map<String, Object>>> delayed(Map<String, Object> body) {
+        DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>(latency + 30000);
+        ResponseEntity<Map<String, Object>> response = ThreadLocalRandom.current().nextInt(100) < failureRate
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", "injected failure"))
+                : ResponseEntity.ok(body);
+        scheduler.schedule(() -> result.setResult(response), latency, TimeUnit.MILLISECONDS);
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.plasturgie.app.integration;
+
+import com.plasturgie.app.service.PaymentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settles payments left PENDING because the browser never came back to the callback,
+ * by asking ClicToPay for their status in keyset batches.
+ * Disable with app.payment.reconciliation.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "app.payment.reconciliation.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationJob.class);
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Value("${app.payment.reconciliation.min-age:300000}")
+    private long minAge;
+
+    @Value("${app.payment.reconciliation.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.payment.reconciliation.parallelism:5}")
+    private int parallelism;
+
+    @Scheduled(fixedDelayString = "${app.payment.reconciliation.interval:60000}",
+               initialDelayString = "${app.payment.reconciliation.interval:60000}")
+    public void reconcile() {
+        try {
+            int verified = paymentService.reconcilePendingPayments(Duration.ofMillis(minAge), batchSize, parallelism);
+            if (verified > 0) {
+                log.info("Reconciled {} pending payments", verified);
+            }
+        } catch (Exception e) {
+            log.error("Payment reconciliation failed, will retry", e);
+        }
+    }
+}
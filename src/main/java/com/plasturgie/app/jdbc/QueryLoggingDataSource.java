@@ -0,0 +1,245 @@
+package com.plasturgie.app.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource wrapper that times every JDBC statement.
+ * A statement's time runs from execute until its result set has been read and closed, and its
+ * row count is the number of rows read or the update count. Statements at or over the slow
+ * threshold are logged at WARN, a sample of the others at INFO, each with the application
+ * method that issued it. Only the SQL text is logged, never the bind values.
+ */
+public class QueryLoggingDataSource extends DelegatingDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLoggingDataSource.class);
+
+    private static final String APP_PACKAGE = "com.plasturgie.app.";
+    private static final String JDBC_PACKAGE = "com.plasturgie.app.jdbc.";
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    /**
+     * @param target The DataSource to wrap
+     * @param slowThresholdMillis Statements taking at least this long are logged at WARN
+     * @param sampleRate Share of faster statements logged at INFO, between 0 and 1
+     */
+    public QueryLoggingDataSource(DataSource target, long slowThresholdMillis, double sampleRate) {
+        super(target);
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(QueryLoggingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private void log(Execution execution) {
+        boolean slow = execution.elapsedNanos >= slowThresholdNanos;
+        if (slow ? !logger.isWarnEnabled()
+                : sampleRate <= 0 || !logger.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(execution.elapsedNanos);
+        String rows = execution.rows >= 0 ? Long.toString(execution.rows) : "?";
+        if (slow) {
+            logger.warn("Slow query: {} ms, {} rows, from {}: {}", millis, rows, caller(), execution.sql);
+        } else {
+            logger.info("Sampled query: {} ms, {} rows, from {}: {}", millis, rows, caller(), execution.sql);
+        }
+    }
+
+    // First application frame below the JDBC layer, skipping Spring's generated proxy classes
+    private static String caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !frame.getClassName().startsWith(JDBC_PACKAGE)
+                        && !frame.getClassName().contains("$$"))
+                .map(frame -> frame.getClassName().substring(APP_PACKAGE.length()) + "." + frame.getMethodName())
+                .findFirst()
+                .orElse("unknown"));
+    }
+
+    /**
+     * One statement execution, logged once its results have been consumed
+     */
+    private final class Execution {
+        private final String sql;
+        private long elapsedNanos;
+        private long rows = -1;
+        private boolean finished;
+
+        private Execution(String sql, long elapsedNanos) {
+            this.sql = sql;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                log(this);
+            }
+        }
+    }
+
+    /**
+     * Delegates to the wrapped JDBC object; equality and hash code are those of the proxy itself
+     */
+    private abstract static class Handler implements InvocationHandler {
+        protected final Object target;
+
+        protected Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        protected abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        protected Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private final class ConnectionHandler extends Handler {
+
+        private ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            Object result = delegate(method, args);
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall take the SQL up front, createStatement at execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                return proxy(method.getReturnType(), new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+        private final String preparedSql;
+        private Execution current;
+
+        private StatementHandler(Statement target, String preparedSql) {
+            super(target);
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            Object result = delegate(method, args);
+            if (name.equals("getResultSet") && result != null && current != null) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, current));
+            }
+            if (name.equals("close") && current != null) {
+                current.finish();
+            }
+            return result;
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            if (current != null) {
+                current.finish();
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            Object result = delegate(method, args);
+            current = new Execution(sql, System.nanoTime() - start);
+
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, current));
+            }
+            if (result instanceof int[]) {
+                current.rows = 0;
+                for (int count : (int[]) result) {
+                    current.rows += Math.max(count, 0);
+                }
+                current.finish();
+            } else if (result instanceof long[]) {
+                current.rows = 0;
+                for (long count : (long[]) result) {
+                    current.rows += Math.max(count, 0);
+                }
+                current.finish();
+            } else if (result instanceof Number) {
+                current.rows = ((Number) result).longValue();
+                current.finish();
+            }
+            // execute() returns a boolean: the result set, if any, is fetched through getResultSet
+            return result;
+        }
+    }
+
+    private final class ResultSetHandler extends Handler {
+        private final Execution execution;
+
+        private ResultSetHandler(ResultSet target, Execution execution) {
+            super(target);
+            this.execution = execution;
+            execution.rows = 0;
+        }
+
+        @Override
+        protected Object handle(Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("next")) {
+                long start = System.nanoTime();
+                Object result = delegate(method, args);
+                execution.elapsedNanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(result)) {
+                    execution.rows++;
+                }
+                return result;
+            }
+            Object result = delegate(method, args);
+            if (method.getName().equals("close")) {
+                execution.finish();
+            }
+            return result;
+        }
+    }
+}
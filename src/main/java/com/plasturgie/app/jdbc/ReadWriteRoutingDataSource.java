@@ -0,0 +1,112 @@
+package com.plasturgie.app.jdbc;
+
+import com.plasturgie.app.cache.BoundedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ * It must sit behind a LazyConnectionDataSourceProxy, so that the connection is only fetched at
+ * the first statement, once the transaction's read-only flag is known.
+ *
+ * Reads fall back to the primary when:
+ * - the current user committed a write within the pin window (read-your-writes), or
+ * - the replica refused a connection within the retry interval.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryIntervalMillis;
+
+    // Users who recently committed a write, kept for the pin window
+    private final BoundedCache<String, Boolean> pinnedUsers;
+
+    private volatile long replicaDownUntil;
+
+    /**
+     * @param primary Read-write DataSource
+     * @param replica Read-only DataSource
+     * @param pinWindowMillis How long a user's reads stay on the primary after they commit a write
+     * @param maxPinnedUsers Maximum number of users pinned at once
+     * @param retryIntervalMillis How long reads stay on the primary after the replica fails
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      long pinWindowMillis, int maxPinnedUsers, long retryIntervalMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.pinnedUsers = new BoundedCache<>(maxPinnedUsers, pinWindowMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String user = currentUser();
+        if (isReadOnlyTransaction()) {
+            if (readsFromReplica(user)) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    replicaDownUntil = System.currentTimeMillis() + retryIntervalMillis;
+                    logger.warn("Replica unavailable, reading from the primary for {} ms: {}", retryIntervalMillis, e.getMessage());
+                }
+            }
+            return primary.getConnection();
+        }
+        Connection connection = primary.getConnection();
+        pinAfterCommit(user);
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Explicit credentials are the primary's; the replica pool only serves its configured user
+        return primary.getConnection(username, password);
+    }
+
+    private boolean readsFromReplica(String user) {
+        if (System.currentTimeMillis() < replicaDownUntil) {
+            return false;
+        }
+        return user == null || pinnedUsers.get(user) == null;
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    // A write transaction pins its user once it commits, so their next reads see the change
+    private void pinAfterCommit(String user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedUsers.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
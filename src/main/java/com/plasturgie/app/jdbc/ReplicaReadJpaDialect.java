@@ -0,0 +1,60 @@
+package com.plasturgie.app.jdbc;
+
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import java.sql.SQLException;
+
+/**
+ * Hibernate dialect for replica routing: read-only transactions, which ReadWriteRoutingDataSource
+ * sends to the replica, set the JPA cache store mode to BYPASS. They still read the second-level
+ * cache but never put into it, so an entity loaded from a lagging replica cannot be served later
+ * to a transaction on the primary. The store mode is set as an entity manager property because
+ * find() derives the session cache mode from it on every call. The previous value is restored
+ * when the transaction ends, since with open-in-view the entity manager outlives it.
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+
+    private static final String STORE_MODE = "javax.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        if (!definition.isReadOnly()) {
+            return transactionData;
+        }
+        Object previousStoreMode = entityManager.getProperties().get(STORE_MODE);
+        entityManager.setProperty(STORE_MODE, CacheStoreMode.BYPASS);
+        return new ReadOnlyTransactionData(transactionData, entityManager, previousStoreMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReadOnlyTransactionData) {
+            ReadOnlyTransactionData readOnly = (ReadOnlyTransactionData) transactionData;
+            if (readOnly.entityManager.isOpen()) {
+                readOnly.entityManager.setProperty(STORE_MODE,
+                        readOnly.previousStoreMode != null ? readOnly.previousStoreMode : CacheStoreMode.USE);
+            }
+            super.cleanupTransaction(readOnly.delegate);
+            return;
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private static class ReadOnlyTransactionData {
+        private final Object delegate;
+        private final EntityManager entityManager;
+        private final Object previousStoreMode;
+
+        private ReadOnlyTransactionData(Object delegate, EntityManager entityManager, Object previousStoreMode) {
+            this.delegate = delegate;
+            this.entityManager = entityManager;
+            this.previousStoreMode = previousStoreMode;
+        }
+    }
+}
@@ -10,15 +10,25 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "certifications")
+@Table(name = "certifications", indexes = {
+        @Index(name = "idx_certifications_status_id", columnList = "status, certification_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_certifications_user_course", columnNames = {"user_id", "course_id"})
+})
+@NamedEntityGraph(name = Certification.GRAPH_DETAIL,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("course")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Certification {
+    /** Fetch plan for certification responses: the holder and the course, in the same query. */
+    public static final String GRAPH_DETAIL = "Certification.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "certification_seq")
-    @SequenceGenerator(name = "certification_seq", sequenceName = "certification_seq", allocationSize = 1)
+    @SequenceGenerator(name = "certification_seq", sequenceName = "certification_seq", allocationSize = 50)
+    @Column(name = "certification_id")
     private Long certificationId;
 
     @ManyToOne
@@ -1,9 +1,14 @@
 package com.plasturgie.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.plasturgie.app.model.enums.Mode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,14 +21,33 @@ import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@NamedEntityGraph(name = Course.GRAPH_LIST,
+        attributeNodes = @NamedAttributeNode(value = "instructors", subgraph = "instructor-user"),
+        subgraphs = @NamedSubgraph(name = "instructor-user", attributeNodes = @NamedAttributeNode("user")))
+@NamedEntityGraph(name = Course.GRAPH_DETAIL,
+        attributeNodes = {
+                @NamedAttributeNode(value = "instructors", subgraph = "instructor-user"),
+                @NamedAttributeNode("reviews")
+        },
+        subgraphs = @NamedSubgraph(name = "instructor-user", attributeNodes = @NamedAttributeNode("user")))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 @Data
+@EqualsAndHashCode(exclude = {"instructors", "enrollments", "reviews"})
+@ToString(exclude = {"instructors", "enrollments", "reviews"})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Course {
+    /** Fetch plan for course listings: instructors and their users. */
+    public static final String GRAPH_LIST = "Course.list";
+    /** Fetch plan for a single course page: instructors, their users and reviews. */
+    public static final String GRAPH_DETAIL = "Course.detail";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_seq")
-    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 1)
+    @SequenceGenerator(name = "course_seq", sequenceName = "course_seq", allocationSize = 50)
     private Long courseId;
 
     @Column(nullable = false)
@@ -47,6 +71,7 @@ public class Course {
     @JoinTable(name = "course_instructors",
             joinColumns = @JoinColumn(name = "course_id"),
             inverseJoinColumns = @JoinColumn(name = "instructor_id"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course-instructors")
     private Set<Instructor> instructors = new HashSet<>();
 
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -3,29 +3,36 @@ package com.plasturgie.app.model;
 import com.plasturgie.app.model.enums.Status;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "enrollments")
+@Table(name = "enrollments", indexes = {
+        @Index(name = "idx_enrollments_status_id", columnList = "status, enrollment_id")
+})
 @Data
+@EqualsAndHashCode(exclude = {"user", "course", "payment"})
+@ToString(exclude = {"user", "course", "payment"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Enrollment {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_seq")
-    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 1)
+    @SequenceGenerator(name = "enrollment_seq", sequenceName = "enrollment_seq", allocationSize = 50)
+    @Column(name = "enrollment_id")
     private Long enrollmentId;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     private Course course;
 
@@ -35,7 +42,7 @@ public class Enrollment {
     @Enumerated(EnumType.STRING)
     private Status status; // Enum: PENDING, ACTIVE, COMPLETED, DROPPED
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "payment_id")
     private Payment payment;
 
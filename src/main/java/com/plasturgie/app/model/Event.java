@@ -1,8 +1,11 @@
 package com.plasturgie.app.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -14,14 +17,21 @@ import java.util.Set;
 
 @Entity
 @Table(name = "events")
+@NamedEntityGraph(name = Event.GRAPH_SUMMARY, attributeNodes = @NamedAttributeNode("company"))
 @Data
+@EqualsAndHashCode(exclude = {"company", "registrations"})
+@ToString(exclude = {"company", "registrations"})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Event {
+    /** Fetch plan for event listings and detail: the organizing company. */
+    public static final String GRAPH_SUMMARY = "Event.summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
-    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 1)
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Long eventId;
 
     @Column(nullable = false)
@@ -43,7 +53,8 @@ public class Event {
     @Column(name = "max_participants")
     private Integer maxParticipants;
     
-    @Column(name = "current_participants")
+    // Only changed through the conditional UPDATEs in EventRepository, so entity saves cannot overwrite concurrent increments
+    @Column(name = "current_participants", updatable = false)
     private Integer currentParticipants;
 
     @ManyToOne
@@ -11,7 +11,9 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "event_registrations")
+@Table(name = "event_registrations", indexes = {
+        @Index(name = "idx_event_registrations_waitlist", columnList = "event_id, status, registration_date, registration_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 public class EventRegistration {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_registration_seq")
-    @SequenceGenerator(name = "event_registration_seq", sequenceName = "event_registration_seq", allocationSize = 1)
+    @SequenceGenerator(name = "event_registration_seq", sequenceName = "event_registration_seq", allocationSize = 50)
+    @Column(name = "registration_id")
     private Long registrationId;
 
     @ManyToOne
@@ -31,7 +34,7 @@ public class EventRegistration {
     private Event event;
 
     @Enumerated(EnumType.STRING)
-    private Status status; // PENDING, ACTIVE, CANCELLED
+    private Status status; // PENDING, ACTIVE, WAITLISTED, DROPPED (cancelled)
 
     @Column(name = "registration_date")
     private LocalDateTime registrationDate;
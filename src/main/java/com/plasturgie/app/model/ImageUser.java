@@ -5,24 +5,25 @@ package com.plasturgie.app.model;
 // import lombok.Data;
 // import lombok.NoArgsConstructor;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import javax.persistence.*;
+import java.sql.Blob;
 import java.time.LocalDateTime;
-import java.util.Arrays; // Import for comparing byte arrays in equals()
 import java.util.Objects; // Import for Objects.hash() and Objects.equals()
 
 @Entity
-@Table(name = "image_users")
+@Table(name = "image_users", indexes = @Index(name = "idx_image_users_storage_key", columnList = "storage_key"))
 // REMOVE Lombok annotations: @Data, @NoArgsConstructor, @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class) // Keep this for JPA Auditing (@CreationTimestamp/@UpdateTimestamp)
 public class ImageUser {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "image_user_seq_gen")
-    @SequenceGenerator(name = "image_user_seq_gen", sequenceName = "image_user_seq", allocationSize = 1)
+    @SequenceGenerator(name = "image_user_seq_gen", sequenceName = "image_user_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "filename")
@@ -31,10 +32,19 @@ public class ImageUser {
     @Column(name = "content_type")
     private String contentType;
 
+    // Legacy inline content, mapped as a Blob locator so image bytes are streamed rather than held in heap.
+    // New uploads leave this null and are stored through ImageStorage under storageKey.
     @Lob
     @Basic(fetch = FetchType.LAZY)
-    @Column(name = "image_data", nullable = false)
-    private byte[] imageData;
+    @JsonIgnore
+    @Column(name = "image_data")
+    private Blob imageData;
+
+    @Column(name = "storage_key", length = 64)
+    private String storageKey;
+
+    @Column(name = "content_length")
+    private Long contentLength;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -55,7 +65,7 @@ public class ImageUser {
     }
 
     // 2. Optional: Custom constructor (Keep if you use it)
-    public ImageUser(String filename, String contentType, byte[] imageData, User user) {
+    public ImageUser(String filename, String contentType, Blob imageData, User user) {
         this.filename = filename;
         this.contentType = contentType;
         this.imageData = imageData;
@@ -76,7 +86,7 @@ public class ImageUser {
         return contentType;
     }
 
-    public byte[] getImageData() {
+    public Blob getImageData() {
         return imageData;
     }
 
@@ -84,6 +94,14 @@ public class ImageUser {
         return user;
     }
 
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public Long getContentLength() {
+        return contentLength;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -106,7 +124,7 @@ public class ImageUser {
         this.contentType = contentType;
     }
 
-    public void setImageData(byte[] imageData) {
+    public void setImageData(Blob imageData) {
         this.imageData = imageData;
     }
 
@@ -114,6 +132,14 @@ public class ImageUser {
         this.user = user;
     }
 
+    public void setStorageKey(String storageKey) {
+        this.storageKey = storageKey;
+    }
+
+    public void setContentLength(Long contentLength) {
+        this.contentLength = contentLength;
+    }
+
     // Setters for timestamps might not be needed if using JPA Auditing
     public void setCreatedAt(LocalDateTime createdAt) {
          this.createdAt = createdAt;
@@ -150,8 +176,10 @@ public class ImageUser {
                 "id=" + id +
                 ", filename='" + filename + '\'' +
                 ", contentType='" + contentType + '\'' +
-                // Avoid printing large byte array content
-                ", imageData=" + (imageData != null ? "byte[" + imageData.length + "]" : "null") +
+                // Avoid touching the LOB content
+                ", imageData=" + (imageData != null ? "blob" : "null") +
+                ", storageKey='" + storageKey + '\'' +
+                ", contentLength=" + contentLength +
                 // Avoid infinite recursion if User toString calls ImageUser toString
                 ", userId=" + (user != null ? user.getUserId() : "null") +
                 ", createdAt=" + createdAt +
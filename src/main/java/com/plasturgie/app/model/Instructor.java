@@ -2,7 +2,11 @@ package com.plasturgie.app.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -14,14 +18,26 @@ import java.util.Set;
 
 @Entity
 @Table(name = "instructors")
+@NamedEntityGraph(name = Instructor.GRAPH_SUMMARY, attributeNodes = @NamedAttributeNode("user"))
+@NamedEntityGraph(name = Instructor.GRAPH_WITH_COURSES,
+        attributeNodes = {@NamedAttributeNode("user"), @NamedAttributeNode("courses")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "instructor")
 @Data
+@EqualsAndHashCode(exclude = {"courses", "reviews"})
+@ToString(exclude = {"courses", "reviews"})
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Instructor {
+    /** Fetch plan for instructor listings: the linked user. */
+    public static final String GRAPH_SUMMARY = "Instructor.summary";
+    /** Fetch plan for an instructor profile: the linked user and taught courses. */
+    public static final String GRAPH_WITH_COURSES = "Instructor.withCourses";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "instructor_seq")
-    @SequenceGenerator(name = "instructor_seq", sequenceName = "instructor_seq", allocationSize = 1)
+    @SequenceGenerator(name = "instructor_seq", sequenceName = "instructor_seq", allocationSize = 50)
     private Long instructorId;
 
     @OneToOne
@@ -1,5 +1,7 @@
 package com.plasturgie.app.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -8,11 +10,13 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "services")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "service")
 @EntityListeners(AuditingEntityListener.class)
 public class Service {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_seq")
-    @SequenceGenerator(name = "service_seq", sequenceName = "service_seq", allocationSize = 1)
+    @SequenceGenerator(name = "service_seq", sequenceName = "service_seq", allocationSize = 50)
     private Long serviceId;
 
     @ManyToOne
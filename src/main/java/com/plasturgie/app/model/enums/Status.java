@@ -10,6 +10,9 @@ public enum Status {
     COMPLETED,
     DROPPED,
     
+    // Event registration statuses
+    WAITLISTED,
+    
     // Payment statuses
     FAILED,
     REFUNDED,
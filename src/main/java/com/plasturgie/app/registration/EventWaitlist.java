@@ -0,0 +1,89 @@
+package com.plasturgie.app.registration;
+
+import com.plasturgie.app.exception.ResourceNotFoundException;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.EventRegistration;
+import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.EventRegistrationRepository;
+import com.plasturgie.app.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Seat bookkeeping for events that have a waitlist.
+ * Every method runs inside the caller's transaction and works under the event row lock,
+ * so admissions, cancellations and promotions for one event never interleave.
+ */
+@Component
+public class EventWaitlist {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    /**
+     * Lock the event row until the surrounding transaction ends
+     *
+     * @param eventId The ID of the event
+     * @return The locked event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Event lock(Long eventId) {
+        return eventRepository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+    }
+
+    /**
+     * Number of seats left on a locked event, or Integer.MAX_VALUE when it has no limit
+     *
+     * @param event The locked event
+     * @return The free seats
+     */
+    public int freeSeats(Event event) {
+        if (event.getMaxParticipants() == null) {
+            return Integer.MAX_VALUE;
+        }
+        int taken = event.getCurrentParticipants() == null ? 0 : event.getCurrentParticipants();
+        return Math.max(0, event.getMaxParticipants() - taken);
+    }
+
+    /**
+     * Move the oldest waitlisted registrations onto free seats.
+     * The caller holds the event lock and accounts for the promoted seats.
+     *
+     * @param eventId The ID of the locked event
+     * @param seats The number of free seats
+     * @return The number of registrations promoted
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promote(Long eventId, int seats) {
+        if (seats <= 0) {
+            return 0;
+        }
+        List<EventRegistration> next = eventRegistrationRepository.findWaitlisted(eventId, PageRequest.of(0, seats));
+        next.forEach(registration -> registration.setStatus(Status.PENDING));
+        eventRegistrationRepository.saveAll(next);
+        return next.size();
+    }
+
+    /**
+     * Give up one seat: it passes straight to the head of the waitlist if there is one,
+     * otherwise the participant count goes down.
+     *
+     * @param eventId The ID of the event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseSeat(Long eventId) {
+        lock(eventId);
+        if (promote(eventId, 1) == 0) {
+            eventRepository.decrementParticipantsIfPositive(eventId);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.plasturgie.app.registration;
+
+import com.plasturgie.app.exception.RegistrationQueueFullException;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.EventRegistration;
+import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.EventRegistrationRepository;
+import com.plasturgie.app.repository.EventRepository;
+import com.plasturgie.app.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process admission queue for event registrations.
+ * Requests are buffered in a bounded queue and drained by a fixed number of workers;
+ * each worker writes all queued registrations for one event in a single transaction.
+ * A registration drop therefore holds at most one pool connection per worker instead of
+ * one per request. Registrations beyond maxParticipants are stored as WAITLISTED.
+ * A user is registered at most once per event, and when a batch is rejected its
+ * registrations are retried one at a time so one bad row fails only its own request.
+ */
+@Component
+public class RegistrationAdmissionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationAdmissionQueue.class);
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
+    private final BlockingQueue<PendingRegistration> queue;
+    private final int maxBatchSize;
+    private final ExecutorService workers;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running = true;
+
+    public RegistrationAdmissionQueue(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.registration.queue.capacity:5000}") int capacity,
+            @Value("${app.registration.queue.max-batch-size:200}") int maxBatchSize,
+            @Value("${app.registration.queue.workers:2}") int workerCount) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "registration-admission-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdownNow();
+        List<PendingRegistration> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.future.completeExceptionally(new RegistrationQueueFullException()));
+    }
+
+    /**
+     * Queue a registration for admission
+     *
+     * @param userId The ID of the registering user
+     * @param eventId The ID of the event to register for
+     * @return Completes with the saved registration (PENDING or WAITLISTED), or the user's
+     *         existing registration for the event, or fails with
+     *         RegistrationQueueFullException when the queue is at capacity and
+     *         ResourceNotFoundException when the event does not exist
+     */
+    public CompletableFuture<EventRegistration> submit(Long userId, Long eventId) {
+        PendingRegistration pending = new PendingRegistration(userId, eventId, LocalDateTime.now());
+        if (!running || !queue.offer(pending)) {
+            pending.future.completeExceptionally(new RegistrationQueueFullException());
+        }
+        return pending.future;
+    }
+
+    private void drainLoop() {
+        while (running) {
+            List<PendingRegistration> batch = new ArrayList<>(maxBatchSize);
+            try {
+                PendingRegistration first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            // Keep arrival order within each event so the waitlist stays first come, first served
+            Map<Long, List<PendingRegistration>> byEvent = new LinkedHashMap<>();
+            for (PendingRegistration pending : batch) {
+                byEvent.computeIfAbsent(pending.eventId, id -> new ArrayList<>()).add(pending);
+            }
+            byEvent.forEach(this::admit);
+        }
+    }
+
+    private void admit(Long eventId, List<PendingRegistration> batch) {
+        // A double submit must not take two seats: repeated requests share the first one's registration
+        Map<Long, List<PendingRegistration>> byUser = new LinkedHashMap<>();
+        for (PendingRegistration pending : batch) {
+            byUser.computeIfAbsent(pending.userId, id -> new ArrayList<>()).add(pending);
+        }
+        List<PendingRegistration> firsts = new ArrayList<>(byUser.size());
+        byUser.values().forEach(requests -> firsts.add(requests.get(0)));
+
+        Map<Long, EventRegistration> saved;
+        try {
+            saved = transactionTemplate.execute(status -> write(eventId, firsts));
+        } catch (RuntimeException e) {
+            if (firsts.size() == 1) {
+                fail(eventId, byUser.get(firsts.get(0).userId), e);
+                return;
+            }
+            log.warn("Failed to admit {} registrations for event {}, retrying one at a time",
+                    firsts.size(), eventId, e);
+            retryOneByOne(eventId, firsts, byUser);
+            return;
+        }
+        byUser.forEach((userId, requests) -> requests.forEach(pending -> pending.future.complete(saved.get(userId))));
+    }
+
+    // Each registration gets its own transaction, so only the offending one fails
+    private void retryOneByOne(Long eventId, List<PendingRegistration> firsts,
+                               Map<Long, List<PendingRegistration>> byUser) {
+        for (PendingRegistration pending : firsts) {
+            List<PendingRegistration> requests = byUser.get(pending.userId);
+            try {
+                EventRegistration registration = transactionTemplate
+                        .execute(status -> write(eventId, List.of(pending)))
+                        .get(pending.userId);
+                requests.forEach(request -> request.future.complete(registration));
+            } catch (RuntimeException e) {
+                fail(eventId, requests, e);
+            }
+        }
+    }
+
+    private void fail(Long eventId, List<PendingRegistration> requests, RuntimeException e) {
+        log.warn("Failed to admit user {} for event {}", requests.get(0).userId, eventId, e);
+        requests.forEach(pending -> pending.future.completeExceptionally(e));
+    }
+
+    // Runs under the event lock; returns the registration of every requesting user, keyed by user ID
+    private Map<Long, EventRegistration> write(Long eventId, List<PendingRegistration> requests) {
+        Event event = eventWaitlist.lock(eventId);
+
+        // Users already registered by an earlier batch keep their registration
+        Map<Long, EventRegistration> result = new HashMap<>();
+        List<Long> userIds = new ArrayList<>(requests.size());
+        requests.forEach(pending -> userIds.add(pending.userId));
+        for (EventRegistration existing : eventRegistrationRepository.findByEventIdAndUserIds(eventId, userIds)) {
+            result.putIfAbsent(existing.getUser().getUserId(), existing);
+        }
+        List<PendingRegistration> newcomers = new ArrayList<>(requests.size());
+        for (PendingRegistration pending : requests) {
+            if (!result.containsKey(pending.userId)) {
+                newcomers.add(pending);
+            }
+        }
+
+        int free = eventWaitlist.freeSeats(event);
+        // People already waiting get freed seats before anyone in this batch
+        int promoted = eventWaitlist.promote(eventId, free == Integer.MAX_VALUE ? 0 : free);
+        int admitted = Math.min(free - promoted, newcomers.size());
+
+        List<EventRegistration> registrations = new ArrayList<>(newcomers.size());
+        for (int i = 0; i < newcomers.size(); i++) {
+            PendingRegistration pending = newcomers.get(i);
+            EventRegistration registration = new EventRegistration();
+            // A reference is enough: the user ID comes from the authenticated principal
+            registration.setUser(userRepository.getReferenceById(pending.userId));
+            registration.setEvent(event);
+            registration.setStatus(i < admitted ? Status.PENDING : Status.WAITLISTED);
+            registration.setRegistrationDate(pending.requestedAt);
+            registration.setAttended(false);
+            registrations.add(registration);
+        }
+        List<EventRegistration> inserted = eventRegistrationRepository.saveAll(registrations);
+        for (int i = 0; i < newcomers.size(); i++) {
+            result.put(newcomers.get(i).userId, inserted.get(i));
+        }
+
+        if (promoted + admitted > 0) {
+            eventRepository.addParticipants(eventId, promoted + admitted);
+        }
+        return result;
+    }
+
+    private static class PendingRegistration {
+        private final Long userId;
+        private final Long eventId;
+        private final LocalDateTime requestedAt;
+        private final CompletableFuture<EventRegistration> future = new CompletableFuture<>();
+
+        private PendingRegistration(Long userId, Long eventId, LocalDateTime requestedAt) {
+            this.userId = userId;
+            this.eventId = eventId;
+            this.requestedAt = requestedAt;
+        }
+    }
+}
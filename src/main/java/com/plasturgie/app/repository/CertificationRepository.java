@@ -1,23 +1,57 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.CertificationValidityDTO;
 import com.plasturgie.app.model.Certification;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CertificationRepository extends JpaRepository<Certification, Long> {
+    @EntityGraph(Certification.GRAPH_DETAIL)
     List<Certification> findByUser(User user);
     
+    @EntityGraph(Certification.GRAPH_DETAIL)
     List<Certification> findByCourse(Course course);
     
+    @EntityGraph(Certification.GRAPH_DETAIL)
     Optional<Certification> findByCertificateCode(String certificateCode);
     
     List<Certification> findByStatus(String status);
     
+    @EntityGraph(Certification.GRAPH_DETAIL)
+    Page<Certification> findByStatus(String status, Pageable pageable);
+    
+    @EntityGraph(Certification.GRAPH_DETAIL)
+    Slice<Certification> findByStatusAndCertificationIdGreaterThanOrderByCertificationIdAsc(String status, Long afterId, Pageable pageable);
+    
     Optional<Certification> findByUserAndCourse(User user, Course course);
+    
+    @Query("SELECT c.user.userId FROM Certification c WHERE c.course.courseId = :courseId")
+    List<Long> findCertifiedUserIds(@Param("courseId") Long courseId);
+    
+    @Query("SELECT new com.plasturgie.app.dto.CertificationValidityDTO(c.status, c.expiryDate) " +
+           "FROM Certification c WHERE c.certificateCode = :certificateCode")
+    Optional<CertificationValidityDTO> findValidityByCertificateCode(@Param("certificateCode") String certificateCode);
+    
+    /**
+     * Marks every active certification whose expiry date has passed as expired.
+     * @return The number of certifications expired.
+     */
+    @Modifying
+    @Query("UPDATE Certification c SET c.status = 'expired' " +
+           "WHERE c.status = 'active' AND c.expiryDate IS NOT NULL AND c.expiryDate < :now")
+    int expireActiveBefore(@Param("now") LocalDateTime now);
 }
@@ -2,6 +2,8 @@ package com.plasturgie.app.repository;
 
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,4 +17,6 @@ public interface CompanyRepository extends JpaRepository<Company, Long> {
     Optional<Company> findByRepresentative(User representative);
     
     List<Company> findByNameContainingIgnoreCase(String name);
+    
+    Slice<Company> findByCompanyIdGreaterThanOrderByCompanyIdAsc(Long afterId, Pageable pageable);
 }
@@ -2,21 +2,35 @@ package com.plasturgie.app.repository;
 
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.enums.Mode;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    List<Course> findByCategory(String category);
+    @EntityGraph(Course.GRAPH_DETAIL)
+    Optional<Course> findWithDetailsByCourseId(Long courseId);
     
-    List<Course> findByMode(Mode mode);
+    @EntityGraph(Course.GRAPH_LIST)
+    List<Course> findDistinctByCategory(String category);
     
-    List<Course> findByTitleContainingIgnoreCase(String title);
+    @EntityGraph(Course.GRAPH_LIST)
+    List<Course> findDistinctByMode(Mode mode);
     
-    List<Course> findByCertificationEligible(Boolean certificationEligible);
+    @EntityGraph(Course.GRAPH_LIST)
+    List<Course> findDistinctByTitleContainingIgnoreCase(String title);
     
-    List<Course> findByPriceLessThanEqual(BigDecimal maxPrice);
+    @EntityGraph(Course.GRAPH_LIST)
+    List<Course> findDistinctByCertificationEligible(Boolean certificationEligible);
+    
+    @EntityGraph(Course.GRAPH_LIST)
+    List<Course> findDistinctByPriceLessThanEqual(BigDecimal maxPrice);
+    
+    Slice<Course> findByCourseIdGreaterThanOrderByCourseIdAsc(Long afterId, Pageable pageable);
 }
@@ -1,12 +1,20 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.EnrollmentDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,7 +26,30 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     List<Enrollment> findByStatus(Status status);
     
+    @Query(value = "SELECT new com.plasturgie.app.dto.EnrollmentDTO(en.enrollmentId, u.userId, c.courseId, c.title, " +
+                   "en.enrollmentDate, en.status, p.paymentId, en.completionDate) " +
+                   "FROM Enrollment en LEFT JOIN en.user u LEFT JOIN en.course c LEFT JOIN en.payment p " +
+                   "WHERE en.status = :status",
+           countQuery = "SELECT COUNT(en) FROM Enrollment en WHERE en.status = :status")
+    Page<EnrollmentDTO> findByStatus(@Param("status") Status status, Pageable pageable);
+    
+    @Query("SELECT new com.plasturgie.app.dto.EnrollmentDTO(en.enrollmentId, u.userId, c.courseId, c.title, " +
+           "en.enrollmentDate, en.status, p.paymentId, en.completionDate) " +
+           "FROM Enrollment en LEFT JOIN en.user u LEFT JOIN en.course c LEFT JOIN en.payment p " +
+           "WHERE en.status = :status AND en.enrollmentId > :afterId ORDER BY en.enrollmentId")
+    Slice<EnrollmentDTO> findByStatusAfter(@Param("status") Status status, @Param("afterId") Long afterId, Pageable pageable);
+    
     Optional<Enrollment> findByUserAndCourse(User user, Course course);
     
     List<Enrollment> findByUserAndStatus(User user, Status status);
+    
+    @Query("SELECT DISTINCT en.user.userId FROM Enrollment en WHERE en.course.courseId = :courseId " +
+           "AND en.status = com.plasturgie.app.model.enums.Status.COMPLETED ORDER BY en.user.userId")
+    List<Long> findCompletedUserIds(@Param("courseId") Long courseId);
+    
+    // Activates PENDING enrollments whose payment has just completed
+    @Modifying
+    @Query("UPDATE Enrollment en SET en.status = com.plasturgie.app.model.enums.Status.ACTIVE " +
+           "WHERE en.payment.paymentId IN :paymentIds AND en.status = com.plasturgie.app.model.enums.Status.PENDING")
+    int activateByPaymentIds(@Param("paymentIds") Collection<Long> paymentIds);
 }
@@ -1,12 +1,19 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.EventRegistrationDTO;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.EventRegistration;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,4 +30,23 @@ public interface EventRegistrationRepository extends JpaRepository<EventRegistra
     List<EventRegistration> findByUserAndStatus(User user, Status status);
     
     List<EventRegistration> findByEventAndStatus(Event event, Status status);
+    
+    // Waitlist order is first come, first served; the sequence ID breaks registrationDate ties
+    @Query("SELECT r FROM EventRegistration r WHERE r.event.eventId = :eventId " +
+           "AND r.status = com.plasturgie.app.model.enums.Status.WAITLISTED " +
+           "ORDER BY r.registrationDate, r.registrationId")
+    List<EventRegistration> findWaitlisted(@Param("eventId") Long eventId, Pageable pageable);
+    
+    @Query("SELECT r FROM EventRegistration r WHERE r.event.eventId = :eventId AND r.user.userId IN :userIds")
+    List<EventRegistration> findByEventIdAndUserIds(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
+    
+    @Query(value = "SELECT new com.plasturgie.app.dto.EventRegistrationDTO(r.registrationId, u.userId, e.eventId, e.title, " +
+                   "r.status, r.registrationDate, r.attended) FROM EventRegistration r LEFT JOIN r.user u LEFT JOIN r.event e",
+           countQuery = "SELECT COUNT(r) FROM EventRegistration r")
+    Page<EventRegistrationDTO> findAllRegistrations(Pageable pageable);
+    
+    @Query("SELECT new com.plasturgie.app.dto.EventRegistrationDTO(r.registrationId, u.userId, e.eventId, e.title, " +
+           "r.status, r.registrationDate, r.attended) FROM EventRegistration r LEFT JOIN r.user u LEFT JOIN r.event e " +
+           "WHERE r.registrationId > :afterId ORDER BY r.registrationId")
+    Slice<EventRegistrationDTO> findRegistrationsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
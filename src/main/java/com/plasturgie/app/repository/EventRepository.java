@@ -2,21 +2,81 @@ package com.plasturgie.app.repository;
 
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Event;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
+    @Override
+    @EntityGraph(Event.GRAPH_SUMMARY)
+    List<Event> findAll();
+    
+    @Override
+    @EntityGraph(Event.GRAPH_SUMMARY)
+    Optional<Event> findById(Long id);
+    
+    @EntityGraph(Event.GRAPH_SUMMARY)
     List<Event> findByCompany(Company company);
     
+    @EntityGraph(Event.GRAPH_SUMMARY)
     List<Event> findByEventDateAfter(LocalDateTime date);
     
+    @EntityGraph(Event.GRAPH_SUMMARY)
     List<Event> findByRegistrationDeadlineAfter(LocalDateTime date);
     
+    @EntityGraph(Event.GRAPH_SUMMARY)
     List<Event> findByTitleContainingIgnoreCase(String title);
     
+    @EntityGraph(Event.GRAPH_SUMMARY)
     List<Event> findByEventDateBetween(LocalDateTime startDate, LocalDateTime endDate);
+    
+    /**
+     * Takes one seat in a single conditional UPDATE, so concurrent callers can never overbook.
+     * @param eventId The ID of the event.
+     * @return 1 if a seat was taken, 0 if the event is full or does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentParticipants = COALESCE(e.currentParticipants, 0) + 1 " +
+           "WHERE e.eventId = :eventId AND (e.maxParticipants IS NULL OR COALESCE(e.currentParticipants, 0) < e.maxParticipants)")
+    int incrementParticipantsIfAvailable(@Param("eventId") Long eventId);
+    
+    /**
+     * Releases one seat in a single conditional UPDATE, never going below zero.
+     * @param eventId The ID of the event.
+     * @return 1 if a seat was released, 0 if the count is already zero or the event does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentParticipants = e.currentParticipants - 1 " +
+           "WHERE e.eventId = :eventId AND e.currentParticipants > 0")
+    int decrementParticipantsIfPositive(@Param("eventId") Long eventId);
+    
+    /**
+     * Loads the event with a row lock held until the surrounding transaction ends,
+     * serializing seat changes that also touch the waitlist.
+     * @param eventId The ID of the event.
+     * @return The locked event, if it exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.eventId = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+    
+    /**
+     * Takes several seats at once; callers must hold the row lock and have checked capacity.
+     * @param eventId The ID of the event.
+     * @param count The number of seats to take.
+     * @return 1 if the event was updated, 0 if it does not exist.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Event e SET e.currentParticipants = COALESCE(e.currentParticipants, 0) + :count WHERE e.eventId = :eventId")
+    int addParticipants(@Param("eventId") Long eventId, @Param("count") int count);
 }
@@ -1,7 +1,12 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.ImageUserMetadataDTO;
 import com.plasturgie.app.model.ImageUser;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,13 +16,25 @@ import java.util.Optional;
 public interface ImageUserRepository extends JpaRepository<ImageUser, Long> {
 
     /**
-     * Finds all images associated with a specific user ID.
+     * Reads one page of image metadata without selecting the image_data LOB column.
+     * @param pageable The page and sort order to fetch.
+     * @return A page of image metadata.
+     */
+    @Query(value = "SELECT new com.plasturgie.app.dto.ImageUserMetadataDTO(i.id, i.filename, i.contentType, i.storageKey, " +
+                   "i.contentLength, i.user.userId, i.createdAt, i.updatedAt) FROM ImageUser i",
+           countQuery = "SELECT COUNT(i) FROM ImageUser i")
+    Page<ImageUserMetadataDTO> findAllMetadata(Pageable pageable);
+
+    /**
+     * Reads one page of image metadata for a specific user ID without selecting the image_data LOB column.
      * @param userId The ID of the user (corresponds to ImageUser.user.userId).
-     * @return A list of ImageUser entities for the given user.
+     * @param pageable The page and sort order to fetch.
+     * @return A page of image metadata for the given user.
      */
-    // --- CORRECTED METHOD NAME ---
-    List<ImageUser> findByUser_UserId(Long userId);
-    // --- END OF CORRECTION ---
+    @Query(value = "SELECT new com.plasturgie.app.dto.ImageUserMetadataDTO(i.id, i.filename, i.contentType, i.storageKey, " +
+                   "i.contentLength, i.user.userId, i.createdAt, i.updatedAt) FROM ImageUser i WHERE i.user.userId = :userId",
+           countQuery = "SELECT COUNT(i) FROM ImageUser i WHERE i.user.userId = :userId")
+    Page<ImageUserMetadataDTO> findMetadataByUserId(@Param("userId") Long userId, Pageable pageable);
 
 
     /**
@@ -31,4 +48,28 @@ public interface ImageUserRepository extends JpaRepository<ImageUser, Long> {
     Optional<ImageUser> findFirstByUser_UserIdOrderByIdDesc(Long userId);
     // --- END OF CORRECTION ---
 
+    /**
+     * Reads image metadata without selecting the image_data LOB column.
+     * @param id The ID of the ImageUser.
+     * @return An Optional containing the metadata if found, otherwise empty.
+     */
+    @Query("SELECT new com.plasturgie.app.dto.ImageUserMetadataDTO(i.id, i.filename, i.contentType, i.storageKey, " +
+           "i.contentLength, i.user.userId, i.createdAt, i.updatedAt) FROM ImageUser i WHERE i.id = :id")
+    Optional<ImageUserMetadataDTO> findMetadataById(@Param("id") Long id);
+
+    /**
+     * Finds IDs of images whose content is still stored inline in the image_data LOB.
+     * @param pageable The batch to fetch.
+     * @return IDs of images not yet moved to ImageStorage, in ascending order.
+     */
+    @Query("SELECT i.id FROM ImageUser i WHERE i.storageKey IS NULL AND i.imageData IS NOT NULL ORDER BY i.id")
+    List<Long> findIdsWithInlineImageData(Pageable pageable);
+
+    /**
+     * Counts images referencing the given storage key (content is shared between identical uploads).
+     * @param storageKey The content-addressed storage key.
+     * @return The number of ImageUser rows referencing the key.
+     */
+    long countByStorageKey(String storageKey);
+
 }
\ No newline at end of file
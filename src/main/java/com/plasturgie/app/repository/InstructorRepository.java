@@ -2,6 +2,7 @@ package com.plasturgie.app.repository;
 
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +14,16 @@ import java.util.Optional;
 public interface InstructorRepository extends JpaRepository<Instructor, Long> {
     Optional<Instructor> findByUser(User user);
     
+    @Override
+    @EntityGraph(Instructor.GRAPH_SUMMARY)
+    List<Instructor> findAll();
+    
+    @EntityGraph(Instructor.GRAPH_WITH_COURSES)
+    Optional<Instructor> findWithCoursesByInstructorId(Long instructorId);
+    
+    @EntityGraph(Instructor.GRAPH_SUMMARY)
     List<Instructor> findByExpertise(String expertise);
     
+    @EntityGraph(Instructor.GRAPH_SUMMARY)
     List<Instructor> findByRatingGreaterThanEqual(BigDecimal minRating);
 }
@@ -1,13 +1,23 @@
 package com.plasturgie.app.repository;
 
+import com.plasturgie.app.dto.PaymentDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +25,19 @@ import java.util.Optional;
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findByUser(User user);
     
+    @Query(value = "SELECT new com.plasturgie.app.dto.PaymentDTO(p.paymentId, u.userId, c.courseId, e.eventId, p.amount, " +
+                   "p.currency, p.paymentMethod, p.clictopayToken, p.transactionReference, p.status, p.paymentDate, p.createdAt) " +
+                   "FROM Payment p JOIN p.user u LEFT JOIN p.course c LEFT JOIN p.event e " +
+                   "WHERE p.user = :user",
+           countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.user = :user")
+    Page<PaymentDTO> findByUser(@Param("user") User user, Pageable pageable);
+    
+    @Query("SELECT new com.plasturgie.app.dto.PaymentDTO(p.paymentId, u.userId, c.courseId, e.eventId, p.amount, " +
+           "p.currency, p.paymentMethod, p.clictopayToken, p.transactionReference, p.status, p.paymentDate, p.createdAt) " +
+           "FROM Payment p JOIN p.user u LEFT JOIN p.course c LEFT JOIN p.event e " +
+           "WHERE p.user = :user AND p.paymentId > :afterId ORDER BY p.paymentId")
+    Slice<PaymentDTO> findByUserAfter(@Param("user") User user, @Param("afterId") Long afterId, Pageable pageable);
+    
     List<Payment> findByCourse(Course course);
     
     List<Payment> findByEvent(Event event);
@@ -23,5 +46,28 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByTransactionReference(String transactionReference);
     
+    Optional<Payment> findByClictopayToken(String clictopayToken);
+    
+    @EntityGraph(attributePaths = {"user", "course", "event"})
+    Optional<Payment> findByIdempotencyKey(String idempotencyKey);
+    
     List<Payment> findByUserAndStatus(User user, Status status);
+    
+    // Keyset batches of PENDING payments old enough that the browser callback is no longer expected
+    @Query("SELECT p FROM Payment p WHERE p.status = com.plasturgie.app.model.enums.Status.PENDING " +
+           "AND p.clictopayToken IS NOT NULL AND p.createdAt < :createdBefore AND p.paymentId > :afterId " +
+           "ORDER BY p.paymentId")
+    Slice<Payment> findPendingAfter(@Param("afterId") Long afterId, @Param("createdBefore") LocalDateTime createdBefore,
+                                    Pageable pageable);
+    
+    /**
+     * Moves a batch of payments out of PENDING in one statement. Payments settled
+     * in the meantime (e.g. by a callback) are left untouched.
+     * @return The number of payments updated.
+     */
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :status, p.paymentDate = :paymentDate " +
+           "WHERE p.paymentId IN :ids AND p.status = com.plasturgie.app.model.enums.Status.PENDING")
+    int settlePending(@Param("ids") Collection<Long> ids, @Param("status") Status status,
+                      @Param("paymentDate") LocalDateTime paymentDate);
 }
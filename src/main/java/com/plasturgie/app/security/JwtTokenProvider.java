@@ -1,17 +1,26 @@
 package com.plasturgie.app.security;
 
+import com.plasturgie.app.cache.BoundedCache;
 import com.plasturgie.app.config.JwtConfig;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -21,9 +30,41 @@ public class JwtTokenProvider {
     @Autowired
     private JwtConfig jwtConfig;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.verified-cache.max-size:0}")
+    private int verifiedCacheMaxSize;
+
+    @Value("${app.jwt.verified-cache.ttl:60000}")
+    private long verifiedCacheTtl;
+
+    private SecretKey secretKey;
+    private JwtParser jwtParser;
+
+    // Digests of recently verified tokens, disabled when max-size is 0
+    private BoundedCache<String, Claims> verifiedTokens;
+
+    // jwt.verification timers by result: served from the cache, verified, rejected
+    private Timer cachedVerifications;
+    private Timer validVerifications;
+    private Timer invalidVerifications;
+
     // 🔐 تحويل الـ secret إلى SecretKey صالح لـ HS512
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtConfig.getSecret()));
+    @PostConstruct
+    public void init() {
+        this.secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtConfig.getSecret()));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+
+        if (verifiedCacheMaxSize > 0) {
+            this.verifiedTokens = new BoundedCache<>(verifiedCacheMaxSize, verifiedCacheTtl);
+        }
+
+        this.cachedVerifications = meterRegistry.timer("jwt.verification", "result", "cached");
+        this.validVerifications = meterRegistry.timer("jwt.verification", "result", "valid");
+        this.invalidVerifications = meterRegistry.timer("jwt.verification", "result", "invalid");
     }
 
     public String generateToken(Authentication authentication) {
@@ -37,30 +78,61 @@ public class JwtTokenProvider {
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .setIssuer(jwtConfig.getIssuer())
-                .signWith(getSecretKey(), SignatureAlgorithm.HS512)
+                .signWith(secretKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiry and returns its claims in a single pass.
+     *
+     * @param token The compact JWT
+     * @return The token claims, or null if the token is invalid
+     */
+    public Claims parseAndValidate(String token) {
+        long start = System.nanoTime();
+        String digest = verifiedTokens != null ? digest(token) : null;
+
+        if (digest != null) {
+            Claims cached = verifiedTokens.get(digest);
+            if (cached != null) {
+                if (cached.getExpiration() == null || cached.getExpiration().after(new Date())) {
+                    cachedVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return cached;
+                }
+                verifiedTokens.invalidate(digest);
+            }
+        }
+
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (digest != null) {
+                verifiedTokens.put(digest, claims);
+            }
+            validVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.error("JWT validation failed: {}", ex.getMessage());
+        }
+        invalidVerifications.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return null;
+    }
+
     public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
         return Long.parseLong(claims.getSubject());
     }
 
     public boolean validateToken(String authToken) {
+        return parseAndValidate(authToken) != null;
+    }
+
+    private String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSecretKey())
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException ex) {
-            logger.error("JWT validation failed: {}", ex.getMessage());
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
 }
@@ -0,0 +1,81 @@
+package com.plasturgie.app.security;
+
+import com.plasturgie.app.cache.BoundedCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Caches authenticated principals by user ID so that the JWT filter does not
+ * have to query the users table on every request.
+ * Lookups are published as security.principal.cache, tagged hit or miss.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final BoundedCache<Long, UserDetails> cache;
+
+    public UserPrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+            @Value("${app.security.principal-cache.ttl:300000}") long ttl) {
+        this.cache = new BoundedCache<>(maxSize, ttl);
+
+        FunctionCounter.builder("security.principal.cache", cache, BoundedCache::getHitCount)
+                .description("Principal lookups by the JWT filter")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("security.principal.cache", cache, BoundedCache::getMissCount)
+                .description("Principal lookups by the JWT filter")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("security.principal.cache.size", cache, BoundedCache::size)
+                .description("Principals currently cached")
+                .register(meterRegistry);
+    }
+
+    public UserDetails get(Long userId) {
+        return cache.get(userId);
+    }
+
+    public void put(Long userId, UserDetails userDetails) {
+        cache.put(userId, userDetails);
+    }
+
+    /**
+     * Evicts a user's principal. When called inside a transaction the entry is
+     * evicted again after commit, so a concurrent request cannot re-cache the
+     * pre-update state.
+     *
+     * @param userId The user ID
+     */
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -1,8 +1,12 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.CertificationBatchResultDTO;
 import com.plasturgie.app.model.Certification;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +26,19 @@ public interface CertificationService {
      */
     Certification createCertification(Long userId, Long courseId, LocalDateTime issueDate, LocalDateTime expiryDate);
     
+    /**
+     * Issue certifications to every learner with a COMPLETED enrollment in a course.
+     * Certifications are inserted in batched chunks, each in its own transaction; a failing
+     * learner is reported without rolling back the rest of the cohort. Learners who already
+     * hold a certification for the course are skipped and reported.
+     * 
+     * @param courseId The course ID
+     * @param issueDate The issue date
+     * @param expiryDate The expiry date (optional)
+     * @return The issued certifications, the skipped learners and the learners that failed
+     */
+    CertificationBatchResultDTO issueCertificationsForCourse(Long courseId, LocalDateTime issueDate, LocalDateTime expiryDate);
+    
     /**
      * Get a certification by ID
      * 
@@ -55,12 +72,23 @@ public interface CertificationService {
     List<Certification> getCertificationsByCourse(Course course);
     
     /**
-     * Get certifications by status
+     * Get one page of certifications by status
+     * 
+     * @param status The status
+     * @param pageable The page and sort order to fetch
+     * @return Page of certifications with the given status
+     */
+    Page<Certification> getCertificationsByStatus(String status, Pageable pageable);
+    
+    /**
+     * Get certifications by status after a keyset cursor, ordered by ID
      * 
      * @param status The status
-     * @return List of certifications with the given status
+     * @param afterId Only certifications with a greater ID are returned
+     * @param limit The maximum number of certifications to return
+     * @return Slice of certifications with the given status
      */
-    List<Certification> getCertificationsByStatus(String status);
+    Slice<Certification> getCertificationsByStatusAfter(String status, Long afterId, int limit);
     
     /**
      * Get certification by user and course
@@ -105,6 +133,13 @@ public interface CertificationService {
      */
     boolean verifyCertification(String certificateCode);
     
+    /**
+     * Mark active certifications whose expiry date has passed as expired
+     * 
+     * @return The number of certifications expired
+     */
+    int expireCertifications();
+    
     /**
      * Generate a unique certificate code
      * 
@@ -112,6 +147,14 @@ public interface CertificationService {
      */
     String generateCertificateCode();
     
+    /**
+     * Generate unique certificate codes for a whole cohort at once
+     * 
+     * @param count The number of codes to generate
+     * @return The certificate codes
+     */
+    List<String> generateCertificateCodes(int count);
+    
     /**
      * Delete a certification
      * 
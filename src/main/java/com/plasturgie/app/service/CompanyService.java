@@ -2,6 +2,9 @@ package com.plasturgie.app.service;
 
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,7 +15,9 @@ public interface CompanyService {
     
     Company getCompanyByRepresentative(User representative);
     
-    List<Company> getAllCompanies();
+    Page<Company> getAllCompanies(Pageable pageable);
+    
+    Slice<Company> getCompaniesAfter(Long afterId, int limit);
     
     List<Company> getCompaniesByCity(String city);
     
@@ -1,8 +1,12 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.CourseSummaryDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Instructor;
 import com.plasturgie.app.model.enums.Mode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -29,11 +33,29 @@ public interface CourseService {
     Course getCourseById(Long id);
     
     /**
-     * Get all courses
+     * Get a course by its ID with its instructors and reviews fetched in one query
      * 
-     * @return List of all courses
+     * @param id The course ID
+     * @return The course with the given ID
+     */
+    Course getCourseDetails(Long id);
+    
+    /**
+     * Get one page of courses
+     * 
+     * @param pageable The page and sort order to fetch
+     * @return Page of course summaries
+     */
+    Page<CourseSummaryDTO> getAllCourses(Pageable pageable);
+    
+    /**
+     * Get courses after a keyset cursor, ordered by ID
+     * 
+     * @param afterId Only courses with a greater ID are returned
+     * @param limit The maximum number of courses to return
+     * @return Slice of course summaries
      */
-    List<Course> getAllCourses();
+    Slice<CourseSummaryDTO> getCoursesAfter(Long afterId, int limit);
     
     /**
      * Get courses by category
@@ -1,10 +1,14 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.EnrollmentDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -66,12 +70,23 @@ public interface EnrollmentService {
     List<Enrollment> getEnrollmentsByCourse(Course course);
     
     /**
-     * Get enrollments by status
+     * Get one page of enrollments by status
      * 
      * @param status The enrollment status
-     * @return List of enrollments with the given status
+     * @param pageable The page and sort order to fetch
+     * @return Page of enrollments with the given status
      */
-    List<Enrollment> getEnrollmentsByStatus(Status status);
+    Page<EnrollmentDTO> getEnrollmentsByStatus(Status status, Pageable pageable);
+    
+    /**
+     * Get enrollments by status after a keyset cursor, ordered by ID
+     * 
+     * @param status The enrollment status
+     * @param afterId Only enrollments with a greater ID are returned
+     * @param limit The maximum number of enrollments to return
+     * @return Slice of enrollments with the given status
+     */
+    Slice<EnrollmentDTO> getEnrollmentsByStatusAfter(Status status, Long afterId, int limit);
     
     /**
      * Get enrollments by user and status
@@ -1,21 +1,32 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.EventRegistrationDTO;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.EventRegistration;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for managing event registrations
  */
 public interface EventRegistrationService {
-    EventRegistration createRegistration(EventRegistration registration);
+    /**
+     * Queue a registration for admission. Only IDs are passed, so the request thread holds
+     * no database connection while it waits; the worker resolves them in its own transaction.
+     */
+    CompletableFuture<EventRegistration> submitRegistration(Long userId, Long eventId);
     
     EventRegistration getRegistrationById(Long id);
     
-    List<EventRegistration> getAllRegistrations();
+    Page<EventRegistrationDTO> getAllRegistrations(Pageable pageable);
+    
+    Slice<EventRegistrationDTO> getRegistrationsAfter(Long afterId, int limit);
     
     List<EventRegistration> getRegistrationsByUser(User user);
     
@@ -83,15 +83,17 @@ public interface EventService {
     Event updateEvent(Long id, Event eventDetails);
     
     /**
-     * Increment participant count for an event
+     * Increment participant count for an event, atomically checking capacity
      * 
      * @param id The event ID
      * @return The updated event
+     * @throws com.plasturgie.app.exception.EventFullException If the event has no seat left
      */
     Event incrementParticipantCount(Long id);
     
     /**
-     * Decrement participant count for an event
+     * Release one seat of an event: it goes to the oldest waitlisted registration if there is one,
+     * otherwise the participant count goes down, never below zero
      * 
      * @param id The event ID
      * @return The updated event
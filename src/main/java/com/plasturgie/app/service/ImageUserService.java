@@ -1,17 +1,24 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.ImageUserMetadataDTO;
 import com.plasturgie.app.model.ImageUser;
-import java.util.List;
+import com.plasturgie.app.storage.ImageVariant;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Optional;
 
 public interface ImageUserService {
 
     /**
-     * Retrieves all image metadata records.
-     * WARNING: Potentially inefficient if many images exist. Consider pagination or DTOs.
-     * @return A list of all ImageUser entities.
+     * Retrieves one page of image metadata records without loading image data.
+     * @param pageable The page and sort order to fetch.
+     * @return A page of image metadata.
      */
-    List<ImageUser> getAllImageUsers();
+    Page<ImageUserMetadataDTO> getAllImageMetadata(Pageable pageable);
 
     /**
      * Retrieves a specific ImageUser by its ID. Includes image data (fetched lazily).
@@ -20,6 +27,13 @@ public interface ImageUserService {
      */
     Optional<ImageUser> getImageUserById(Long id);
 
+    /**
+     * Retrieves image metadata (content type, content hash, timestamps) without loading image data.
+     * @param id The ID of the ImageUser.
+     * @return An Optional containing the metadata if found.
+     */
+    Optional<ImageUserMetadataDTO> getImageMetadata(Long id);
+
     /**
      * Saves a new ImageUser or updates an existing one.
      * Handles setting necessary fields and persisting.
@@ -28,6 +42,62 @@ public interface ImageUserService {
      */
     ImageUser saveImageUser(ImageUser imageUser);
 
+    /**
+     * Saves a new ImageUser, streaming the image content into ImageStorage
+     * without buffering it in memory. Only metadata is stored in the database.
+     * @param imageUser The ImageUser entity to save (should have user, filename, contentType set).
+     * @param imageData The image content stream; must remain open until the method returns.
+     * @param size The number of bytes in the stream.
+     * @return The saved ImageUser entity.
+     */
+    ImageUser saveImageUser(ImageUser imageUser, InputStream imageData, long size) throws IOException;
+
+    /**
+     * Copies the stored image content of an ImageUser to the given stream.
+     * Content in ImageStorage is copied without a database connection; only images
+     * still stored inline open a read-only transaction for the LOB.
+     * @param image The image metadata, resolved before the response body is written.
+     * @param outputStream The stream to write the image content to.
+     * @return true if the image was found and written, false otherwise.
+     * @throws IOException If reading the LOB or writing the stream fails.
+     */
+    boolean streamImageData(ImageUserMetadataDTO image, OutputStream outputStream) throws IOException;
+
+    /**
+     * Retrieves a scaled variant of a stored image, generating and caching it if needed.
+     * @param image The image metadata.
+     * @param size The bounding size in pixels; must be one of the configured variant sizes.
+     * @return The variant, or empty if the image has no variants (inline or not a decodable image).
+     * @throws IllegalArgumentException If the size is not a configured variant size.
+     * @throws IOException If the variant cannot be generated.
+     */
+    Optional<ImageVariant> getImageVariant(ImageUserMetadataDTO image, int size) throws IOException;
+
+    /**
+     * Returns the ETag the variant of the given size has, or will have once generated, using metadata only.
+     * @param image The image metadata.
+     * @param size The bounding size in pixels; must be one of the configured variant sizes.
+     * @return The variant ETag, or empty if the image is served at full size (stored inline or not decodable).
+     * @throws IllegalArgumentException If the size is not a configured variant size.
+     */
+    Optional<String> getImageVariantETag(ImageUserMetadataDTO image, int size);
+
+    /**
+     * Copies a cached image variant to the given stream.
+     * @param variant The variant returned by getImageVariant.
+     * @param outputStream The stream to write the variant to.
+     * @throws IOException If reading the variant or writing the stream fails.
+     */
+    void streamImageVariant(ImageVariant variant, OutputStream outputStream) throws IOException;
+
+    /**
+     * Moves one batch of images still stored inline in the image_data LOB to ImageStorage.
+     * @param batchSize The maximum number of images to move in this batch.
+     * @return The number of images moved; 0 when nothing is left to migrate.
+     * @throws IOException If reading a LOB or writing to storage fails.
+     */
+    int migrateInlineImageData(int batchSize) throws IOException;
+
     /**
      * Deletes an ImageUser by its ID.
      * @param id The ID of the ImageUser to delete.
@@ -35,11 +105,12 @@ public interface ImageUserService {
     void deleteImageUser(Long id);
 
     /**
-     * Retrieves all images associated with a specific user.
+     * Retrieves one page of image metadata for a specific user without loading image data.
      * @param userId The ID of the user.
-     * @return A list of ImageUser entities for the user.
+     * @param pageable The page and sort order to fetch.
+     * @return A page of image metadata for the user.
      */
-    List<ImageUser> getImageUsersByUserId(Long userId);
+    Page<ImageUserMetadataDTO> getImageMetadataByUserId(Long userId, Pageable pageable);
 
     /**
      * Retrieves the latest uploaded image for a specific user.
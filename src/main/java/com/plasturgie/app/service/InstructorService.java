@@ -27,6 +27,14 @@ public interface InstructorService {
      */
     Instructor getInstructorById(Long id);
     
+    /**
+     * Get an instructor by ID with the linked user and taught courses fetched in one query
+     * 
+     * @param id The instructor ID
+     * @return The instructor with the given ID
+     */
+    Instructor getInstructorWithCourses(Long id);
+    
     /**
      * Get instructor by user
      * 
@@ -1,22 +1,31 @@
 package com.plasturgie.app.service;
 
+import com.plasturgie.app.dto.PaymentDTO;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentService {
-    Payment initiatePayment(User user, Course course, Event event);
+    CompletableFuture<Payment> initiatePayment(User user, Course course, Event event, String idempotencyKey);
     
     Payment getPaymentById(Long id);
     
     Optional<Payment> findByTransactionReference(String transactionReference);
     
-    List<Payment> getPaymentsByUser(User user);
+    Page<PaymentDTO> getPaymentsByUser(User user, Pageable pageable);
+    
+    Slice<PaymentDTO> getPaymentsByUserAfter(User user, Long afterId, int limit);
     
     List<Payment> getPaymentsByCourse(Course course);
     
@@ -29,4 +38,10 @@ public interface PaymentService {
     boolean verifyPaymentStatus(String paymentToken);
     
     boolean refundPayment(Payment payment);
+    
+    Map<String, Object> getGatewayStatus();
+    
+    int reconcilePendingPayments(Duration minAge, int batchSize, int parallelism);
+    
+    Map<String, Object> getReconciliationStatus();
 }
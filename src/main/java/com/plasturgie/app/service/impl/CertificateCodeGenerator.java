@@ -0,0 +1,105 @@
+package com.plasturgie.app.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Generates certificate codes without a database round trip.
+ * A code is "CERT-" followed by 23 Crockford base32 characters: 10 encode the issue time in
+ * milliseconds (so codes sort by issue time), 12 carry 60 random bits, and the last one is a
+ * checksum that catches mistyped characters before any lookup. Two codes only collide if they
+ * are generated in the same millisecond with the same 60 random bits; the unique constraint on
+ * certificate_code remains the final guard.
+ */
+@Component
+public class CertificateCodeGenerator {
+
+    private static final String PREFIX = "CERT-";
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int TIME_CHARS = 10;
+    private static final int RANDOM_CHARS = 12;
+    private static final int BODY_CHARS = TIME_CHARS + RANDOM_CHARS;
+
+    private static final Pattern CODE_FORMAT = Pattern.compile("CERT-[0-9A-HJKMNP-TV-Z]{23}");
+    // Codes issued before this generator: CERT- plus 8 hex characters
+    private static final Pattern LEGACY_FORMAT = Pattern.compile("CERT-[0-9A-F]{8}");
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Generate a new certificate code
+     *
+     * @return The certificate code
+     */
+    public String next() {
+        char[] code = new char[BODY_CHARS + 1];
+        encode(System.currentTimeMillis(), code, 0, TIME_CHARS);
+        encode(random.nextLong(), code, TIME_CHARS, RANDOM_CHARS);
+        code[BODY_CHARS] = ALPHABET[checksum(code, BODY_CHARS)];
+        return PREFIX + new String(code);
+    }
+
+    /**
+     * Generate several certificate codes at once
+     *
+     * @param count The number of codes
+     * @return The certificate codes, in issue order
+     */
+    public List<String> next(int count) {
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            codes.add(next());
+        }
+        return codes;
+    }
+
+    /**
+     * Check that a code is well formed, including its checksum, without looking it up
+     *
+     * @param code The certificate code
+     * @return True if the code could have been issued by this or the legacy generator
+     */
+    public boolean isWellFormed(String code) {
+        if (code == null) {
+            return false;
+        }
+        if (LEGACY_FORMAT.matcher(code).matches()) {
+            return true;
+        }
+        if (!CODE_FORMAT.matcher(code).matches()) {
+            return false;
+        }
+        char[] body = code.substring(PREFIX.length()).toCharArray();
+        return body[BODY_CHARS] == ALPHABET[checksum(body, BODY_CHARS)];
+    }
+
+    // Writes the low 5 * length bits of value as base32, most significant character first
+    private static void encode(long value, char[] target, int offset, int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            target[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+    }
+
+    // Weighted sum with odd weights, so any single substituted character changes the checksum
+    private static int checksum(char[] chars, int length) {
+        int sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += (2 * i + 1) * indexOf(chars[i]);
+        }
+        return sum & 31;
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a base32 character: " + c);
+    }
+}
@@ -0,0 +1,33 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.service.CertificationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves active certifications past their expiry date to 'expired' in one bulk update,
+ * so public verification never has to write.
+ */
+@Component
+public class CertificationExpiryJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CertificationExpiryJob.class);
+
+    @Autowired
+    private CertificationService certificationService;
+
+    @Scheduled(fixedDelayString = "${app.certification.expiry-sweep.interval:3600000}")
+    public void expireCertifications() {
+        try {
+            int expired = certificationService.expireCertifications();
+            if (expired > 0) {
+                log.info("Marked {} certifications as expired", expired);
+            }
+        } catch (Exception e) {
+            log.error("Certification expiry sweep failed, will retry", e);
+        }
+    }
+}
@@ -1,32 +1,84 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.cache.BoundedCache;
+import com.plasturgie.app.dto.CertificationBatchResultDTO;
+import com.plasturgie.app.dto.CertificationValidityDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Certification;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.repository.CertificationRepository;
+import com.plasturgie.app.repository.EnrollmentRepository;
 import com.plasturgie.app.service.CertificationService;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CertificationServiceImpl implements CertificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(CertificationServiceImpl.class);
+
+    // Certifications inserted per transaction when issuing for a cohort; matches hibernate.jdbc.batch_size
+    private static final int ISSUE_CHUNK_SIZE = 50;
+
     @Autowired
     private CertificationRepository certificationRepository;
     
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /**
+     * Public verification results by certificate code. Entries for valid certificates
+     * never outlive the expiry date, and every status change invalidates the code.
+     */
+    private final BoundedCache<String, Boolean> verificationCache;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    public CertificationServiceImpl(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.certification.verification-cache.max-size:50000}") int verificationCacheMaxSize,
+            @Value("${app.certification.verification-cache.ttl:300000}") long verificationCacheTtl) {
+        this.verificationCache = new BoundedCache<>(verificationCacheMaxSize, verificationCacheTtl);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
     @Autowired
     private UserService userService;
     
     @Autowired
     private CourseService courseService;
+    
+    @Autowired
+    private CertificateCodeGenerator certificateCodeGenerator;
 
     @Override
     @Transactional
@@ -52,7 +104,107 @@ public class CertificationServiceImpl implements CertificationService {
         certification.setExpiryDate(expiryDate);
         certification.setStatus("active");
         
-        return certificationRepository.save(certification);
+        Certification saved = certificationRepository.save(certification);
+        invalidateVerification(saved.getCertificateCode());
+        return saved;
+    }
+
+    @Override
+    public CertificationBatchResultDTO issueCertificationsForCourse(Long courseId, LocalDateTime issueDate, LocalDateTime expiryDate) {
+        Course course = courseService.getCourseById(courseId);
+        
+        if (!course.getCertificationEligible()) {
+            throw new IllegalStateException("This course is not eligible for certification");
+        }
+        
+        // One query for the cohort and one existence query for the whole cohort, instead of one per learner
+        List<Long> completedUserIds = enrollmentRepository.findCompletedUserIds(courseId);
+        Set<Long> certifiedUserIds = new HashSet<>(certificationRepository.findCertifiedUserIds(courseId));
+        
+        List<Long> toIssue = new ArrayList<>();
+        List<Long> alreadyCertified = new ArrayList<>();
+        for (Long userId : completedUserIds) {
+            if (certifiedUserIds.contains(userId)) {
+                alreadyCertified.add(userId);
+            } else {
+                toIssue.add(userId);
+            }
+        }
+        
+        List<String> codes = certificateCodeGenerator.next(toIssue.size());
+        List<CertificationBatchResultDTO.IssuedCertificate> issued = new ArrayList<>(toIssue.size());
+        List<CertificationBatchResultDTO.FailedCertificate> failed = new ArrayList<>();
+        for (int from = 0; from < toIssue.size(); from += ISSUE_CHUNK_SIZE) {
+            int to = Math.min(from + ISSUE_CHUNK_SIZE, toIssue.size());
+            List<Long> chunkUserIds = toIssue.subList(from, to);
+            List<String> chunkCodes = codes.subList(from, to);
+            try {
+                issued.addAll(insertCertifications(courseId, chunkUserIds, chunkCodes, issueDate, expiryDate));
+            } catch (RuntimeException e) {
+                // Only this chunk was rolled back: retry its learners one at a time to isolate the bad rows
+                log.warn("Issuing certifications for course {} failed for a chunk of {} learners, retrying one by one",
+                        courseId, chunkUserIds.size(), e);
+                for (int i = 0; i < chunkUserIds.size(); i++) {
+                    Long userId = chunkUserIds.get(i);
+                    try {
+                        issued.addAll(insertCertifications(courseId, List.of(userId), List.of(chunkCodes.get(i)),
+                                issueDate, expiryDate));
+                    } catch (RuntimeException learnerFailure) {
+                        log.warn("Could not issue a certification for user {} in course {}", userId, courseId, learnerFailure);
+                        failed.add(new CertificationBatchResultDTO.FailedCertificate(userId,
+                                learnerFailure instanceof DataIntegrityViolationException
+                                        ? "Rejected by a database constraint" : "Could not be saved"));
+                    }
+                }
+            }
+        }
+        
+        if (!failed.isEmpty()) {
+            // Learners certified by a concurrent issuance since the existence query hit the unique
+            // (user_id, course_id) constraint; they are reported as already certified, not as failures
+            Set<Long> certifiedNow = new HashSet<>(certificationRepository.findCertifiedUserIds(courseId));
+            failed.removeIf(failure -> {
+                if (certifiedNow.contains(failure.getUserId())) {
+                    alreadyCertified.add(failure.getUserId());
+                    return true;
+                }
+                return false;
+            });
+        }
+        
+        return new CertificationBatchResultDTO(courseId, completedUserIds.size(), issued, alreadyCertified, failed);
+    }
+    
+    // Inserts one chunk in its own transaction, so a failing row rolls back only its chunk
+    private List<CertificationBatchResultDTO.IssuedCertificate> insertCertifications(
+            Long courseId, List<Long> userIds, List<String> codes, LocalDateTime issueDate, LocalDateTime expiryDate) {
+        return transactionTemplate.execute(status -> {
+            // References are enough to set the foreign keys; the users and the course are not loaded again
+            Course course = entityManager.getReference(Course.class, courseId);
+            List<Certification> certifications = new ArrayList<>(userIds.size());
+            for (int i = 0; i < userIds.size(); i++) {
+                Certification certification = new Certification();
+                certification.setUser(entityManager.getReference(User.class, userIds.get(i)));
+                certification.setCourse(course);
+                certification.setCertificateCode(codes.get(i));
+                certification.setIssueDate(issueDate);
+                certification.setExpiryDate(expiryDate);
+                certification.setStatus("active");
+                certifications.add(certification);
+            }
+            
+            // IDs come from pooled sequence blocks and the inserts go out as JDBC batches (hibernate.jdbc.batch_size)
+            List<Certification> saved = certificationRepository.saveAll(certifications);
+            certificationRepository.flush();
+            codes.forEach(this::invalidateVerification);
+            
+            List<CertificationBatchResultDTO.IssuedCertificate> issued = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                issued.add(new CertificationBatchResultDTO.IssuedCertificate(userIds.get(i),
+                        saved.get(i).getCertificationId(), saved.get(i).getCertificateCode()));
+            }
+            return issued;
+        });
     }
 
     @Override
@@ -78,8 +230,13 @@ public class CertificationServiceImpl implements CertificationService {
     }
 
     @Override
-    public List<Certification> getCertificationsByStatus(String status) {
-        return certificationRepository.findByStatus(status);
+    public Page<Certification> getCertificationsByStatus(String status, Pageable pageable) {
+        return certificationRepository.findByStatus(status, pageable);
+    }
+
+    @Override
+    public Slice<Certification> getCertificationsByStatusAfter(String status, Long afterId, int limit) {
+        return certificationRepository.findByStatusAndCertificationIdGreaterThanOrderByCertificationIdAsc(status, afterId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -99,7 +256,9 @@ public class CertificationServiceImpl implements CertificationService {
         }
         
         certification.setStatus(status);
-        return certificationRepository.save(certification);
+        Certification saved = certificationRepository.save(certification);
+        invalidateVerification(saved.getCertificateCode());
+        return saved;
     }
 
     @Override
@@ -115,7 +274,9 @@ public class CertificationServiceImpl implements CertificationService {
         certification.setExpiryDate(newExpiryDate);
         certification.setStatus("active");
         
-        return certificationRepository.save(certification);
+        Certification saved = certificationRepository.save(certification);
+        invalidateVerification(saved.getCertificateCode());
+        return saved;
     }
 
     @Override
@@ -124,46 +285,68 @@ public class CertificationServiceImpl implements CertificationService {
         Certification certification = getCertificationById(id);
         certification.setStatus("revoked");
         
-        return certificationRepository.save(certification);
+        Certification saved = certificationRepository.save(certification);
+        invalidateVerification(saved.getCertificateCode());
+        return saved;
     }
 
     @Override
     public boolean verifyCertification(String certificateCode) {
-        try {
-            Certification certification = getCertificationByCode(certificateCode);
-            
-            // Check if certification is active
-            if (!certification.getStatus().equals("active")) {
-                return false;
-            }
-            
-            // Check if certification has expired
-            if (certification.getExpiryDate() != null && 
-                    certification.getExpiryDate().isBefore(LocalDateTime.now())) {
-                // Automatically update status to expired
-                certification.setStatus("expired");
-                certificationRepository.save(certification);
-                return false;
-            }
-            
-            return true;
-            
-        } catch (ResourceNotFoundException e) {
+        // Mistyped or made-up codes are rejected without a lookup
+        if (!certificateCodeGenerator.isWellFormed(certificateCode)) {
             return false;
         }
+        
+        Boolean cached = verificationCache.get(certificateCode);
+        if (cached != null) {
+            return cached;
+        }
+        
+        // Read-only: moving past-expiry certifications to 'expired' is left to the expiry sweeper
+        Optional<CertificationValidityDTO> validity = certificationRepository.findValidityByCertificateCode(certificateCode);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiryDate = validity.map(CertificationValidityDTO::getExpiryDate).orElse(null);
+        boolean valid = validity.isPresent()
+                && "active".equals(validity.get().getStatus())
+                && (expiryDate == null || !expiryDate.isBefore(now));
+        
+        if (valid && expiryDate != null) {
+            verificationCache.put(certificateCode, true, Duration.between(now, expiryDate).toMillis());
+        } else {
+            verificationCache.put(certificateCode, valid);
+        }
+        return valid;
+    }
+
+    @Override
+    @Transactional
+    public int expireCertifications() {
+        return certificationRepository.expireActiveBefore(LocalDateTime.now());
     }
 
     @Override
     public String generateCertificateCode() {
-        // Generate a UUID-based code
-        String code = "CERT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        
-        // Check if the code already exists
-        while (certificationRepository.findByCertificateCode(code).isPresent()) {
-            code = "CERT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        // Unique by construction; the unique constraint on certificate_code is the final guard
+        return certificateCodeGenerator.next();
+    }
+
+    @Override
+    public List<String> generateCertificateCodes(int count) {
+        return certificateCodeGenerator.next(count);
+    }
+
+    // Drops the cached result once the change commits, so a concurrent verification cannot re-cache the old state
+    private void invalidateVerification(String certificateCode) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            verificationCache.invalidate(certificateCode);
+            return;
         }
-        
-        return code;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                verificationCache.invalidate(certificateCode);
+            }
+        });
     }
 
     @Override
@@ -171,5 +354,6 @@ public class CertificationServiceImpl implements CertificationService {
     public void deleteCertification(Long id) {
         Certification certification = getCertificationById(id);
         certificationRepository.delete(certification);
+        invalidateVerification(certification.getCertificateCode());
     }
 }
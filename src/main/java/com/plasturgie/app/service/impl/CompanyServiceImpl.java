@@ -7,6 +7,10 @@ import com.plasturgie.app.repository.CompanyRepository;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -43,8 +47,13 @@ public class CompanyServiceImpl implements CompanyService {
     }
 
     @Override
-    public List<Company> getAllCompanies() {
-        return companyRepository.findAll();
+    public Page<Company> getAllCompanies(Pageable pageable) {
+        return companyRepository.findAll(pageable);
+    }
+
+    @Override
+    public Slice<Company> getCompaniesAfter(Long afterId, int limit) {
+        return companyRepository.findByCompanyIdGreaterThanOrderByCompanyIdAsc(afterId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.CourseSummaryDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Instructor;
@@ -8,6 +9,10 @@ import com.plasturgie.app.repository.CourseRepository;
 import com.plasturgie.app.service.CourseService;
 import com.plasturgie.app.service.InstructorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,44 +38,66 @@ public class CourseServiceImpl implements CourseService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
     }
 
     @Override
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    @Transactional(readOnly = true)
+    public Course getCourseDetails(Long id) {
+        return courseRepository.findWithDetailsByCourseId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Course", "id", id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CourseSummaryDTO> getAllCourses(Pageable pageable) {
+        return courseRepository.findAll(pageable).map(CourseSummaryDTO::from);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CourseSummaryDTO> getCoursesAfter(Long afterId, int limit) {
+        return courseRepository.findByCourseIdGreaterThanOrderByCourseIdAsc(afterId, PageRequest.of(0, limit))
+                .map(CourseSummaryDTO::from);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByCategory(String category) {
-        return courseRepository.findByCategory(category);
+        return courseRepository.findDistinctByCategory(category);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByMode(Mode mode) {
-        return courseRepository.findByMode(mode);
+        return courseRepository.findDistinctByMode(mode);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByInstructor(Instructor instructor) {
         return instructor.getCourses().stream().collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> searchCoursesByTitle(String title) {
-        return courseRepository.findByTitleContainingIgnoreCase(title);
+        return courseRepository.findDistinctByTitleContainingIgnoreCase(title);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByCertificationEligible(Boolean certificationEligible) {
-        return courseRepository.findByCertificationEligible(certificationEligible);
+        return courseRepository.findDistinctByCertificationEligible(certificationEligible);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByMaxPrice(BigDecimal maxPrice) {
-        return courseRepository.findByPriceLessThanEqual(maxPrice);
+        return courseRepository.findDistinctByPriceLessThanEqual(maxPrice);
     }
 
     @Override
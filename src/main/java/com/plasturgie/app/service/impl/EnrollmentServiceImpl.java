@@ -1,5 +1,6 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.EnrollmentDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Course;
 import com.plasturgie.app.model.Enrollment;
@@ -12,6 +13,10 @@ import com.plasturgie.app.service.EnrollmentService;
 import com.plasturgie.app.service.PaymentService;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -99,8 +104,13 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     }
 
     @Override
-    public List<Enrollment> getEnrollmentsByStatus(Status status) {
-        return enrollmentRepository.findByStatus(status);
+    public Page<EnrollmentDTO> getEnrollmentsByStatus(Status status, Pageable pageable) {
+        return enrollmentRepository.findByStatus(status, pageable);
+    }
+
+    @Override
+    public Slice<EnrollmentDTO> getEnrollmentsByStatusAfter(Status status, Long afterId, int limit) {
+        return enrollmentRepository.findByStatusAfter(status, afterId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -1,37 +1,42 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.EventRegistrationDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.EventRegistration;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.registration.EventWaitlist;
+import com.plasturgie.app.registration.RegistrationAdmissionQueue;
 import com.plasturgie.app.repository.EventRegistrationRepository;
 import com.plasturgie.app.service.EventRegistrationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class EventRegistrationServiceImpl implements EventRegistrationService {
 
     @Autowired
     private EventRegistrationRepository eventRegistrationRepository;
+    
+    @Autowired
+    private EventWaitlist eventWaitlist;
+    
+    @Autowired
+    private RegistrationAdmissionQueue admissionQueue;
 
     @Override
-    @Transactional
-    public EventRegistration createRegistration(EventRegistration registration) {
-        if (registration.getRegistrationDate() == null) {
-            registration.setRegistrationDate(LocalDateTime.now());
-        }
-        
-        if (registration.getStatus() == null) {
-            registration.setStatus(Status.PENDING);
-        }
-        
-        return eventRegistrationRepository.save(registration);
+    public CompletableFuture<EventRegistration> submitRegistration(Long userId, Long eventId) {
+        // Batched per event by the admission queue; full events put the user on the waitlist
+        return admissionQueue.submit(userId, eventId);
     }
 
     @Override
@@ -41,8 +46,13 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
     }
 
     @Override
-    public List<EventRegistration> getAllRegistrations() {
-        return eventRegistrationRepository.findAll();
+    public Page<EventRegistrationDTO> getAllRegistrations(Pageable pageable) {
+        return eventRegistrationRepository.findAllRegistrations(pageable);
+    }
+
+    @Override
+    public Slice<EventRegistrationDTO> getRegistrationsAfter(Long afterId, int limit) {
+        return eventRegistrationRepository.findRegistrationsAfter(afterId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -99,8 +109,16 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
     @Transactional
     public void cancelRegistration(Long id) {
         EventRegistration registration = getRegistrationById(id);
+        if (registration.getStatus() == Status.DROPPED) {
+            return;
+        }
+        boolean heldSeat = registration.getStatus() != Status.WAITLISTED;
         registration.setStatus(Status.DROPPED); // Using DROPPED as CANCELLED
         eventRegistrationRepository.save(registration);
+        if (heldSeat) {
+            // The freed seat goes to the oldest waitlisted registration, if any
+            eventWaitlist.releaseSeat(registration.getEvent().getEventId());
+        }
     }
 
     @Override
@@ -108,5 +126,8 @@ public class EventRegistrationServiceImpl implements EventRegistrationService {
     public void deleteRegistration(Long id) {
         EventRegistration registration = getRegistrationById(id);
         eventRegistrationRepository.delete(registration);
+        if (registration.getStatus() != Status.DROPPED && registration.getStatus() != Status.WAITLISTED) {
+            eventWaitlist.releaseSeat(registration.getEvent().getEventId());
+        }
     }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.exception.EventFullException;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.Company;
 import com.plasturgie.app.model.Event;
+import com.plasturgie.app.registration.EventWaitlist;
 import com.plasturgie.app.repository.EventRepository;
 import com.plasturgie.app.service.CompanyService;
 import com.plasturgie.app.service.EventService;
@@ -22,6 +24,9 @@ public class EventServiceImpl implements EventService {
     @Autowired
     private CompanyService companyService;
 
+    @Autowired
+    private EventWaitlist eventWaitlist;
+
     @Override
     @Transactional
     public Event createEvent(Event event, Long companyId) {
@@ -37,37 +42,44 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Event getEventById(Long id) {
         return eventRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getEventsByCompany(Company company) {
         return eventRepository.findByCompany(company);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getUpcomingEvents() {
         return eventRepository.findByEventDateAfter(LocalDateTime.now());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getEventsWithOpenRegistration() {
         return eventRepository.findByRegistrationDeadlineAfter(LocalDateTime.now());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> searchEventsByTitle(String title) {
         return eventRepository.findByTitleContainingIgnoreCase(title);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Event> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return eventRepository.findByEventDateBetween(startDate, endDate);
     }
@@ -106,38 +118,25 @@ public class EventServiceImpl implements EventService {
     @Override
     @Transactional
     public Event incrementParticipantCount(Long id) {
-        Event event = getEventById(id);
-        
-        // Check if event is full
-        if (isEventFull(id)) {
-            throw new IllegalStateException("Event is already full");
-        }
-        
-        Integer currentCount = event.getCurrentParticipants();
-        if (currentCount == null) {
-            currentCount = 0;
+        // Under the event lock, like admissions and cancellations, so seats the waitlist is owed stay consistent
+        eventWaitlist.lock(id); // 404 if the event does not exist
+        if (eventRepository.incrementParticipantsIfAvailable(id) == 0) {
+            throw new EventFullException(id);
         }
-        event.setCurrentParticipants(currentCount + 1);
         
-        return eventRepository.save(event);
+        return getEventById(id);
     }
 
     @Override
     @Transactional
     public Event decrementParticipantCount(Long id) {
-        Event event = getEventById(id);
-        
-        Integer currentCount = event.getCurrentParticipants();
-        if (currentCount == null) {
-            currentCount = 0;
-        } else if (currentCount > 0) {
-            event.setCurrentParticipants(currentCount - 1);
-        }
-        
-        return eventRepository.save(event);
+        // The freed seat goes to the oldest waitlisted registration, as for a cancellation
+        eventWaitlist.releaseSeat(id);
+        return getEventById(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isEventFull(Long id) {
         Event event = getEventById(id);
         
@@ -1,16 +1,35 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.dto.ImageUserMetadataDTO;
 import com.plasturgie.app.model.ImageUser;
 import com.plasturgie.app.repository.ImageUserRepository;
 // Removed: import com.plasturgie.app.service.ImageUserService; // No need to import self-interface in impl
 import com.plasturgie.app.service.ImageUserService;
+import com.plasturgie.app.storage.ImageStorage;
+import com.plasturgie.app.storage.ImageVariant;
+import com.plasturgie.app.storage.ImageVariantStore;
+import com.plasturgie.app.storage.StoredImage;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,11 +41,29 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
     @Autowired
     private ImageUserRepository imageUserRepository;
 
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageVariantStore imageVariantStore;
+
+    private final TransactionTemplate readOnlyTransaction;
+    // Reference counts run after the surrounding transaction has ended, so they need one of their own.
+    // Not read-only: a lagging replica could miss a row that still references the content.
+    private final TransactionTemplate newTransaction;
+
+    public ImageUserServiceImpl(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<ImageUser> getAllImageUsers() {
-        log.debug("Fetching all image users");
-        return imageUserRepository.findAll();
+    public Page<ImageUserMetadataDTO> getAllImageMetadata(Pageable pageable) {
+        log.debug("Fetching image metadata page: {}", pageable);
+        return imageUserRepository.findAllMetadata(pageable);
     }
 
     @Override
@@ -36,6 +73,13 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
         return imageUserRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ImageUserMetadataDTO> getImageMetadata(Long id) {
+        log.debug("Fetching image metadata by id: {}", id);
+        return imageUserRepository.findMetadataById(id);
+    }
+
     @Override
     @Transactional
     public ImageUser saveImageUser(ImageUser imageUser) {
@@ -43,27 +87,175 @@ public class ImageUserServiceImpl implements ImageUserService { // Implements th
         log.debug("Saving image user for user id: {}", imageUser.getUser() != null ? imageUser.getUser().getUserId() : "null");
 
         // This line should also compile if Lombok is working
-        if (imageUser.getUser() == null || imageUser.getImageData() == null || imageUser.getImageData().length == 0) {
+        if (imageUser.getUser() == null || (imageUser.getImageData() == null && imageUser.getStorageKey() == null)) {
             throw new IllegalArgumentException("ImageUser must have associated User and non-empty image data.");
         }
         return imageUserRepository.save(imageUser);
     }
 
+    @Override
+    @Transactional
+    public ImageUser saveImageUser(ImageUser imageUser, InputStream imageData, long size) throws IOException {
+        if (imageData == null || size <= 0) {
+            throw new IllegalArgumentException("ImageUser must have associated User and non-empty image data.");
+        }
+        // Content goes to ImageStorage; only the key and size are persisted
+        StoredImage storedImage = imageStorage.store(imageData);
+        releaseAfterCompletion(storedImage.getKey());
+        imageUser.setStorageKey(storedImage.getKey());
+        imageUser.setContentLength(storedImage.getSize());
+        imageUser.setImageData(null);
+        ImageUser savedImageUser = saveImageUser(imageUser);
+
+        // Thumbnails are produced off the request thread
+        imageVariantStore.generateAsync(storedImage.getKey(), imageUser.getContentType());
+        return savedImageUser;
+    }
+
+    @Override
+    public Optional<ImageVariant> getImageVariant(ImageUserMetadataDTO image, int size) throws IOException {
+        if (!imageVariantStore.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported image size: " + size + ". Supported sizes: " + imageVariantStore.getSizes());
+        }
+        // Images still stored inline have no variants and are served at full size
+        if (image.getStorageKey() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(imageVariantStore.getOrCreate(image.getStorageKey(), image.getContentType(), size));
+    }
+
+    @Override
+    public Optional<String> getImageVariantETag(ImageUserMetadataDTO image, int size) {
+        if (!imageVariantStore.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported image size: " + size + ". Supported sizes: " + imageVariantStore.getSizes());
+        }
+        if (image.getStorageKey() == null || imageVariantStore.isKnownUndecodable(image.getStorageKey())) {
+            return Optional.empty();
+        }
+        return Optional.of(ImageVariant.eTagFor(image.getStorageKey(), size));
+    }
+
+    @Override
+    public void streamImageVariant(ImageVariant variant, OutputStream outputStream) throws IOException {
+        imageVariantStore.writeTo(variant, outputStream);
+    }
+
+    @Override
+    public boolean streamImageData(ImageUserMetadataDTO image, OutputStream outputStream) throws IOException {
+        Long id = image.getId();
+        log.debug("Streaming image data for id: {}", id);
+
+        // The storage key comes with the metadata, so stored content is copied without touching the database
+        if (image.getStorageKey() != null) {
+            imageStorage.writeTo(image.getStorageKey(), outputStream);
+            return true;
+        }
+
+        // Rows not yet migrated are read from the LOB, which needs an open transaction
+        try {
+            Boolean written = readOnlyTransaction.execute(status -> copyInlineImageData(id, outputStream));
+            return Boolean.TRUE.equals(written);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private boolean copyInlineImageData(Long id, OutputStream outputStream) {
+        Optional<ImageUser> imageUser = imageUserRepository.findById(id);
+        if (!imageUser.isPresent() || imageUser.get().getImageData() == null) {
+            return false;
+        }
+        try (InputStream imageData = imageUser.get().getImageData().getBinaryStream()) {
+            StreamUtils.copy(imageData, outputStream);
+            return true;
+        } catch (SQLException e) {
+            throw new UncheckedIOException(new IOException("Failed to read image data for id: " + id, e));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int migrateInlineImageData(int batchSize) throws IOException {
+        List<Long> ids = imageUserRepository.findIdsWithInlineImageData(PageRequest.of(0, batchSize));
+        for (Long id : ids) {
+            ImageUser imageUser = imageUserRepository.findById(id).orElseThrow(IllegalStateException::new);
+            try (InputStream imageData = imageUser.getImageData().getBinaryStream()) {
+                StoredImage storedImage = imageStorage.store(imageData);
+                releaseAfterCompletion(storedImage.getKey());
+                imageUser.setStorageKey(storedImage.getKey());
+                imageUser.setContentLength(storedImage.getSize());
+                imageUser.setImageData(null);
+            } catch (SQLException e) {
+                throw new IOException("Failed to read image data for id: " + id, e);
+            }
+        }
+        log.debug("Moved {} inline images to image storage", ids.size());
+        return ids.size();
+    }
+
     @Override
     @Transactional
     public void deleteImageUser(Long id) {
         log.debug("Deleting image user by id: {}", id);
-        if (!imageUserRepository.existsById(id)) {
+        Optional<ImageUser> imageUser = imageUserRepository.findById(id);
+        if (!imageUser.isPresent()) {
              log.warn("Attempted to delete non-existent ImageUser with id: {}", id);
+             return;
+        }
+        String storageKey = imageUser.get().getStorageKey();
+        imageUserRepository.delete(imageUser.get());
+
+        // Identical uploads share content, so only remove the file once nothing references it
+        if (storageKey != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteStoredContentIfUnreferenced(storageKey);
+                }
+            });
+        }
+    }
+
+    private void deleteStoredContentIfUnreferenced(String storageKey) {
+        try {
+            // The count runs under the storage key's lock, so an upload of the same content cannot slip in between
+            if (imageStorage.deleteIfUnreferenced(storageKey, () -> isReferenced(storageKey))) {
+                imageVariantStore.deleteAll(storageKey);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete stored image content {}", storageKey, e);
+        }
+    }
+
+    private boolean isReferenced(String storageKey) {
+        return Boolean.TRUE.equals(newTransaction.execute(status -> imageUserRepository.countByStorageKey(storageKey) > 0));
+    }
+
+    // New content stays pinned in storage until the row that references it has committed or rolled back.
+    // On rollback it is removed again unless another row already shares it.
+    private void releaseAfterCompletion(String storageKey) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            imageStorage.release(storageKey);
+            return;
         }
-        imageUserRepository.deleteById(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                imageStorage.release(storageKey);
+                if (status == STATUS_ROLLED_BACK) {
+                    deleteStoredContentIfUnreferenced(storageKey);
+                }
+            }
+        });
     }
 
     @Override // Ensure @Override is present
     @Transactional(readOnly = true)
-    public List<ImageUser> getImageUsersByUserId(Long userId) {
-        log.debug("Fetching image users for user id: {}", userId);
-        return imageUserRepository.findByUser_UserId(userId);
+    public Page<ImageUserMetadataDTO> getImageMetadataByUserId(Long userId, Pageable pageable) {
+        log.debug("Fetching image metadata for user id: {}, page: {}", userId, pageable);
+        return imageUserRepository.findMetadataByUserId(userId, pageable);
     }
 
     @Override // Ensure @Override is present
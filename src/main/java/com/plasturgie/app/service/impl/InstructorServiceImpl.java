@@ -48,6 +48,12 @@ public class InstructorServiceImpl implements InstructorService {
                 .orElseThrow(() -> new ResourceNotFoundException("Instructor", "id", id));
     }
 
+    @Override
+    public Instructor getInstructorWithCourses(Long id) {
+        return instructorRepository.findWithCoursesByInstructorId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Instructor", "id", id));
+    }
+
     @Override
     public Instructor getInstructorByUser(User user) {
         return instructorRepository.findByUser(user)
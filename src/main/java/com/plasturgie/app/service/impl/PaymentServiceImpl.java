@@ -1,5 +1,8 @@
 package com.plasturgie.app.service.impl;
 
+import com.plasturgie.app.cache.BoundedCache;
+import com.plasturgie.app.dto.PaymentDTO;
+import com.plasturgie.app.exception.IdempotencyKeyReusedException;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.integration.ClicToPayService;
 import com.plasturgie.app.model.Course;
@@ -7,66 +10,234 @@ import com.plasturgie.app.model.Event;
 import com.plasturgie.app.model.Payment;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.EnrollmentRepository;
 import com.plasturgie.app.repository.PaymentRepository;
 import com.plasturgie.app.service.PaymentService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class PaymentServiceImpl implements PaymentService {
 
+    private static final Logger log = LoggerFactory.getLogger(PaymentServiceImpl.class);
+
     @Autowired
     private PaymentRepository paymentRepository;
     
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    
     @Autowired
     private ClicToPayService clicToPayService;
+    
+    /**
+     * Maps ClicToPay tokens to payment IDs while payments are PENDING,
+     * so callbacks resolve by primary key instead of by token.
+     */
+    private final BoundedCache<String, Long> pendingTokenCache;
+    
+    /**
+     * Outcome of recent payment initiations by scoped idempotency key. Holding the future
+     * means a retry that arrives while the first request is still waiting on the gateway
+     * shares its result instead of starting a second payment.
+     */
+    private final BoundedCache<String, CompletableFuture<Payment>> idempotentRequests;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    /**
+     * Saves payments once the gateway has returned a token, so the gateway's HTTP threads
+     * never block on the database or on a pool connection.
+     */
+    private final ExecutorService persistenceExecutor;
+    
+    // Reconciliation metrics
+    private final AtomicLong reconciledCount = new AtomicLong();
+    private final AtomicLong reconciledCompleted = new AtomicLong();
+    private final AtomicLong reconciledFailed = new AtomicLong();
+    private volatile LocalDateTime lastReconciliation;
+    private volatile long lastReconciliationMillis;
+    private volatile double lastReconciliationThroughput;
+    private volatile long oldestPendingAgeSeconds;
+    
+    public PaymentServiceImpl(
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.payment.token-cache.max-size:10000}") int tokenCacheMaxSize,
+            @Value("${app.payment.token-cache.ttl:1800000}") long tokenCacheTtl,
+            @Value("${app.payment.idempotency.max-size:10000}") int idempotencyMaxSize,
+            @Value("${app.payment.idempotency.ttl:86400000}") long idempotencyTtl,
+            @Value("${app.payment.persistence-threads:5}") int persistenceThreads) {
+        this.pendingTokenCache = new BoundedCache<>(tokenCacheMaxSize, tokenCacheTtl);
+        this.idempotentRequests = new BoundedCache<>(idempotencyMaxSize, idempotencyTtl);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        AtomicInteger threadCount = new AtomicInteger();
+        this.persistenceExecutor = Executors.newFixedThreadPool(persistenceThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-persistence-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        FunctionCounter.builder("payment.reconciliation.payments", reconciledCount, AtomicLong::get)
+                .description("PENDING payments checked with the gateway by the reconciler")
+                .tag("result", "verified")
+                .register(meterRegistry);
+        FunctionCounter.builder("payment.reconciliation.payments", reconciledCompleted, AtomicLong::get)
+                .description("PENDING payments checked with the gateway by the reconciler")
+                .tag("result", "completed")
+                .register(meterRegistry);
+        FunctionCounter.builder("payment.reconciliation.payments", reconciledFailed, AtomicLong::get)
+                .description("PENDING payments checked with the gateway by the reconciler")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        TimeGauge.builder("payment.reconciliation.last.duration", this, TimeUnit.MILLISECONDS,
+                        service -> service.lastReconciliationMillis)
+                .description("Duration of the last reconciliation run")
+                .register(meterRegistry);
+        Gauge.builder("payment.reconciliation.oldest.pending.age", this, service -> service.oldestPendingAgeSeconds)
+                .description("Age in seconds of the oldest PENDING payment seen by the last reconciliation run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persistenceExecutor.shutdown();
+    }
 
     @Override
-    @Transactional
-    public Payment initiatePayment(User user, Course course, Event event) {
+    public CompletableFuture<Payment> initiatePayment(User user, Course course, Event event, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return startPayment(user, course, event, null);
+        }
+        
+        String scopedKey = user.getUserId() + ":" + idempotencyKey;
+        CompletableFuture<Payment> result = new CompletableFuture<>();
+        CompletableFuture<Payment> previous = idempotentRequests.putIfAbsent(scopedKey, result);
+        if (previous != null) {
+            return previous.thenApply(payment -> checkSameTarget(payment, course, event, idempotencyKey));
+        }
+        
+        CompletableFuture<Payment> started;
+        try {
+            // Not seen recently by this instance: the unique key column is the source of truth
+            Optional<Payment> stored = paymentRepository.findByIdempotencyKey(scopedKey);
+            if (stored.isPresent()) {
+                result.complete(stored.get());
+                return result.thenApply(payment -> checkSameTarget(payment, course, event, idempotencyKey));
+            }
+            started = startPayment(user, course, event, scopedKey);
+        } catch (RuntimeException e) {
+            // Never leave an incomplete future cached: retries with this key would wait on it forever
+            idempotentRequests.invalidate(scopedKey);
+            result.completeExceptionally(e);
+            throw e;
+        }
+        
+        started.whenComplete((payment, ex) -> {
+            if (ex != null) {
+                // Let the client retry with the same key
+                idempotentRequests.invalidate(scopedKey);
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(payment);
+            }
+        });
+        return result;
+    }
+    
+    private CompletableFuture<Payment> startPayment(User user, Course course, Event event, String scopedKey) {
         Payment payment = new Payment();
         payment.setUser(user);
         payment.setStatus(Status.PENDING);
         payment.setCurrency("TND");
+        payment.setIdempotencyKey(scopedKey);
         
+        String description;
         if (course != null) {
             payment.setCourse(course);
             payment.setAmount(course.getPrice());
-            
-            // Generate token from ClicToPay
-            String paymentToken = clicToPayService.initiatePayment(
-                    course.getPrice(), 
-                    "TND", 
-                    "Payment for course: " + course.getTitle());
-            
-            payment.setClictopayToken(paymentToken);
+            description = "Payment for course: " + course.getTitle();
         } 
         else if (event != null) {
             payment.setEvent(event);
             payment.setAmount(event.getPrice());
-            
-            // Generate token from ClicToPay
-            String paymentToken = clicToPayService.initiatePayment(
-                    event.getPrice(), 
-                    "TND", 
-                    "Payment for event: " + event.getTitle());
-            
-            payment.setClictopayToken(paymentToken);
+            description = "Payment for event: " + event.getTitle();
         } 
         else {
             throw new IllegalArgumentException("Either course or event must be provided");
         }
         
-        // Generate transaction reference (this would be handled by ClicToPay in a real scenario)
-        payment.setTransactionReference("PT-" + System.currentTimeMillis());
-        
-        return paymentRepository.save(payment);
+        // Generate token from ClicToPay; no transaction (and no pooled connection) is held while waiting.
+        // The save runs on the persistence executor, not on the gateway's HTTP threads.
+        return clicToPayService.initiatePaymentAsync(payment.getAmount(), "TND", description)
+                .thenApplyAsync(paymentToken -> {
+                    payment.setClictopayToken(paymentToken);
+                    
+                    // Generate transaction reference (this would be handled by ClicToPay in a real scenario)
+                    payment.setTransactionReference("PT-" + System.currentTimeMillis());
+                    
+                    Payment savedPayment;
+                    try {
+                        savedPayment = paymentRepository.save(payment);
+                    } catch (DataIntegrityViolationException e) {
+                        // Another instance stored a payment under the same key first
+                        if (scopedKey == null) {
+                            throw e;
+                        }
+                        return paymentRepository.findByIdempotencyKey(scopedKey).orElseThrow(() -> e);
+                    }
+                    if (savedPayment.getClictopayToken() != null) {
+                        pendingTokenCache.put(savedPayment.getClictopayToken(), savedPayment.getPaymentId());
+                    }
+                    return savedPayment;
+                }, persistenceExecutor);
+    }
+
+    private static Payment checkSameTarget(Payment payment, Course course, Event event, String idempotencyKey) {
+        Long courseId = payment.getCourse() != null ? payment.getCourse().getCourseId() : null;
+        Long eventId = payment.getEvent() != null ? payment.getEvent().getEventId() : null;
+        if (!Objects.equals(courseId, course != null ? course.getCourseId() : null)
+                || !Objects.equals(eventId, event != null ? event.getEventId() : null)) {
+            throw new IdempotencyKeyReusedException(idempotencyKey);
+        }
+        return payment;
     }
 
     @Override
@@ -81,8 +252,13 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    public List<Payment> getPaymentsByUser(User user) {
-        return paymentRepository.findByUser(user);
+    public Page<PaymentDTO> getPaymentsByUser(User user, Pageable pageable) {
+        return paymentRepository.findByUser(user, pageable);
+    }
+
+    @Override
+    public Slice<PaymentDTO> getPaymentsByUserAfter(User user, Long afterId, int limit) {
+        return paymentRepository.findByUserAfter(user, afterId, PageRequest.of(0, limit));
     }
 
     @Override
@@ -113,31 +289,65 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    @Transactional
     public boolean verifyPaymentStatus(String paymentToken) {
+        // Not transactional: the lookup and the settlement each use their own short transaction,
+        // so no connection is held during the gateway call
+        Optional<Payment> paymentOpt = findByClictopayToken(paymentToken);
+        if (!paymentOpt.isPresent()) {
+            return false;
+        }
+        
+        Payment payment = paymentOpt.get();
+        if (payment.getStatus() != Status.PENDING) {
+            // Already settled by a callback or the reconciler: nothing to ask the gateway
+            pendingTokenCache.invalidate(paymentToken);
+            return payment.getStatus() == Status.COMPLETED;
+        }
+        
         Status paymentStatus = clicToPayService.verifyPayment(paymentToken);
+        if (paymentStatus == Status.PENDING) {
+            return false;
+        }
         
-        Optional<Payment> paymentOpt = paymentRepository.findAll().stream()
-                .filter(p -> p.getClictopayToken() != null && p.getClictopayToken().equals(paymentToken))
-                .findFirst();
+        // Same conditional update as the reconciler, so a concurrent settlement is never overwritten
+        List<Long> ids = List.of(payment.getPaymentId());
+        Integer settled = transactionTemplate.execute(status -> {
+            int updated = paymentRepository.settlePending(ids, paymentStatus,
+                    paymentStatus == Status.COMPLETED ? LocalDateTime.now() : null);
+            if (updated > 0 && paymentStatus == Status.COMPLETED) {
+                enrollmentRepository.activateByPaymentIds(ids);
+            }
+            return updated;
+        });
+        pendingTokenCache.invalidate(paymentToken);
         
-        if (paymentOpt.isPresent()) {
-            Payment payment = paymentOpt.get();
-            payment.setStatus(paymentStatus);
-            
-            if (paymentStatus == Status.COMPLETED) {
-                payment.setPaymentDate(LocalDateTime.now());
+        if (settled == null || settled == 0) {
+            // Settled by someone else since the lookup: report what they stored
+            return paymentRepository.findById(payment.getPaymentId())
+                    .map(current -> current.getStatus() == Status.COMPLETED)
+                    .orElse(false);
+        }
+        return paymentStatus == Status.COMPLETED;
+    }
+    
+    private Optional<Payment> findByClictopayToken(String paymentToken) {
+        if (paymentToken == null) {
+            return Optional.empty();
+        }
+        
+        Long paymentId = pendingTokenCache.get(paymentToken);
+        if (paymentId != null) {
+            Optional<Payment> cached = paymentRepository.findById(paymentId);
+            if (cached.isPresent()) {
+                return cached;
             }
-            
-            paymentRepository.save(payment);
-            return paymentStatus == Status.COMPLETED;
+            pendingTokenCache.invalidate(paymentToken);
         }
         
-        return false;
+        return paymentRepository.findByClictopayToken(paymentToken);
     }
 
     @Override
-    @Transactional
     public boolean refundPayment(Payment payment) {
         if (payment.getStatus() != Status.COMPLETED) {
             throw new IllegalStateException("Cannot refund a payment that is not completed");
@@ -152,4 +362,98 @@ public class PaymentServiceImpl implements PaymentService {
         
         return refundSuccessful;
     }
+
+    @Override
+    public Map<String, Object> getGatewayStatus() {
+        return clicToPayService.getResilienceStats();
+    }
+
+    @Override
+    public int reconcilePendingPayments(Duration minAge, int batchSize, int parallelism) {
+        long startedAt = System.currentTimeMillis();
+        LocalDateTime createdBefore = LocalDateTime.now().minus(minAge);
+        long oldestAge = 0;
+        int verified = 0;
+        long afterId = 0L;
+        
+        Slice<Payment> batch;
+        do {
+            batch = paymentRepository.findPendingAfter(afterId, createdBefore, PageRequest.of(0, batchSize));
+            List<Payment> payments = batch.getContent();
+            if (payments.isEmpty()) {
+                break;
+            }
+            if (verified == 0 && payments.get(0).getCreatedAt() != null) {
+                // Batches are in ID order, so the first row is the oldest unsettled payment
+                oldestAge = Duration.between(payments.get(0).getCreatedAt(), LocalDateTime.now()).getSeconds();
+            }
+            
+            Map<Status, List<Long>> outcomes = verifyConcurrently(payments, parallelism);
+            transactionTemplate.executeWithoutResult(status -> settle(outcomes));
+            
+            verified += payments.size();
+            afterId = payments.get(payments.size() - 1).getPaymentId();
+            
+            if (!outcomes.containsKey(Status.COMPLETED) && !outcomes.containsKey(Status.FAILED)
+                    && !clicToPayService.isAvailable()) {
+                log.warn("Payment gateway unavailable, stopping reconciliation after {} payments", verified);
+                break;
+            }
+        } while (batch.hasNext());
+        
+        long elapsed = System.currentTimeMillis() - startedAt;
+        lastReconciliation = LocalDateTime.now();
+        lastReconciliationMillis = elapsed;
+        lastReconciliationThroughput = elapsed > 0 ? verified * 1000.0 / elapsed : 0;
+        oldestPendingAgeSeconds = oldestAge;
+        reconciledCount.addAndGet(verified);
+        return verified;
+    }
+
+    @Override
+    public Map<String, Object> getReconciliationStatus() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lastRun", lastReconciliation);
+        stats.put("lastRunMillis", lastReconciliationMillis);
+        stats.put("lastRunPaymentsPerSecond", lastReconciliationThroughput);
+        stats.put("oldestPendingAgeSeconds", oldestPendingAgeSeconds);
+        stats.put("verified", reconciledCount.get());
+        stats.put("completed", reconciledCompleted.get());
+        stats.put("failed", reconciledFailed.get());
+        return stats;
+    }
+    
+    /**
+     * Verifies a batch of tokens with at most parallelism calls in flight
+     * and groups the payment IDs by the status the gateway reported
+     */
+    private Map<Status, List<Long>> verifyConcurrently(List<Payment> payments, int parallelism) {
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<CompletableFuture<Status>> calls = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            inFlight.acquireUninterruptibly();
+            calls.add(clicToPayService.verifyPaymentAsync(payment.getClictopayToken())
+                    .whenComplete((status, ex) -> inFlight.release()));
+        }
+        
+        Map<Status, List<Long>> outcomes = new EnumMap<>(Status.class);
+        for (int i = 0; i < payments.size(); i++) {
+            Status status = calls.get(i).join();
+            outcomes.computeIfAbsent(status, s -> new ArrayList<>()).add(payments.get(i).getPaymentId());
+        }
+        return outcomes;
+    }
+    
+    private void settle(Map<Status, List<Long>> outcomes) {
+        List<Long> completed = outcomes.get(Status.COMPLETED);
+        if (completed != null) {
+            reconciledCompleted.addAndGet(paymentRepository.settlePending(completed, Status.COMPLETED, LocalDateTime.now()));
+            // Cascade: enrollments waiting on these payments become active
+            enrollmentRepository.activateByPaymentIds(completed);
+        }
+        List<Long> failed = outcomes.get(Status.FAILED);
+        if (failed != null) {
+            reconciledFailed.addAndGet(paymentRepository.settlePending(failed, Status.FAILED, null));
+        }
+    }
 }
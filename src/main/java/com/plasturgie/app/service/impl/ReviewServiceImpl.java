@@ -72,27 +72,32 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Review getReviewById(Long id) {
         return reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByCourse(Course course) {
         return reviewRepository.findByCourse(course);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByInstructor(Instructor instructor) {
         return reviewRepository.findByInstructor(instructor);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByUser(User user) {
         return reviewRepository.findByUser(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Review getReviewByUserAndCourse(User user, Course course) {
         return reviewRepository.findByUserAndCourse(user, course)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "user and course", 
@@ -100,6 +105,7 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Review getReviewByUserAndInstructor(User user, Instructor instructor) {
         return reviewRepository.findByUserAndInstructor(user, instructor)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "user and instructor", 
@@ -107,6 +113,7 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> getReviewsByRating(Integer rating) {
         return reviewRepository.findByRating(rating);
     }
@@ -149,6 +156,7 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double calculateAverageRatingForCourse(Long courseId) {
         Course course = courseService.getCourseById(courseId);
         List<Review> reviews = reviewRepository.findByCourse(course);
@@ -164,6 +172,7 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double calculateAverageRatingForInstructor(Long instructorId) {
         Instructor instructor = instructorService.getInstructorById(instructorId);
         List<Review> reviews = reviewRepository.findByInstructor(instructor);
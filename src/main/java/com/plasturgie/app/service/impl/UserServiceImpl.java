@@ -4,6 +4,7 @@ import com.plasturgie.app.dto.UserDTO;
 import com.plasturgie.app.exception.ResourceNotFoundException;
 import com.plasturgie.app.model.User;
 import com.plasturgie.app.repository.UserRepository;
+import com.plasturgie.app.security.UserPrincipalCache;
 import com.plasturgie.app.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,6 +21,9 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private UserPrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -88,7 +92,9 @@ public class UserServiceImpl implements UserService {
         user.setLastName(userDTO.getLastName());
         user.setRole(userDTO.getRole());
 
-        return userRepository.save(user);
+        User updatedUser = userRepository.save(user);
+        principalCache.evict(id);
+        return updatedUser;
     }
 
     @Override
@@ -96,6 +102,7 @@ public class UserServiceImpl implements UserService {
     public void deleteUser(Long id) {
         User user = findById(id);
         userRepository.delete(user);
+        principalCache.evict(id);
     }
 
     @Override
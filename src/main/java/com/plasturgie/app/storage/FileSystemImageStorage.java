@@ -0,0 +1,137 @@
+package com.plasturgie.app.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Content-addressed image storage on the local filesystem.
+ * Files are named by the SHA-256 of their content and sharded into two directory
+ * levels (ab/cd/abcd...), so identical uploads are stored once. Because content is shared,
+ * storing and deleting a key are serialised by a striped lock, and content stays pinned from
+ * store until its uploader calls release.
+ */
+@Component
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemImageStorage.class);
+
+    private final Path root;
+    private final Path tempDir;
+
+    private final Object[] locks = new Object[64];
+    // Uploads in progress per storage key
+    private final Map<String, Integer> pins = new ConcurrentHashMap<>();
+
+    public FileSystemImageStorage(@Value("${app.image-storage.location:./data/images}") String location) throws IOException {
+        this.root = Paths.get(location).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        log.info("Image storage location: {}", root);
+    }
+
+    @Override
+    public StoredImage store(InputStream content) throws IOException {
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String key = toHex(digest.digest());
+            Path target = resolve(key);
+            synchronized (lockFor(key)) {
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                pins.merge(key, 1, Integer::sum);
+            }
+            return new StoredImage(key, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public InputStream read(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void writeTo(String key, OutputStream outputStream) throws IOException {
+        // A servlet output stream is not a channel, so this is a buffered copy, not a zero-copy transfer
+        Files.copy(resolve(key), outputStream);
+    }
+
+    @Override
+    public void release(String key) {
+        synchronized (lockFor(key)) {
+            pins.computeIfPresent(key, (pinned, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    @Override
+    public boolean deleteIfUnreferenced(String key, BooleanSupplier referenced) throws IOException {
+        Path path = resolve(key);
+        synchronized (lockFor(key)) {
+            if (pins.containsKey(key) || referenced.getAsBoolean()) {
+                return false;
+            }
+            return Files.deleteIfExists(path);
+        }
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private Path resolve(String key) {
+        if (key == null || !key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid image storage key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
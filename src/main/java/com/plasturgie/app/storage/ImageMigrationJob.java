@@ -0,0 +1,47 @@
+package com.plasturgie.app.storage;
+
+import com.plasturgie.app.service.ImageUserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves images still stored inline in the image_users.image_data LOB to ImageStorage,
+ * one batch per transaction. Enable with app.image-storage.migration.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "app.image-storage.migration.enabled", havingValue = "true")
+public class ImageMigrationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageMigrationJob.class);
+
+    @Autowired
+    private ImageUserService imageUserService;
+
+    @Value("${app.image-storage.migration.batch-size:50}")
+    private int batchSize;
+
+    private volatile boolean completed;
+
+    @Scheduled(fixedDelayString = "${app.image-storage.migration.interval:10000}")
+    public void migrateBatch() {
+        if (completed) {
+            return;
+        }
+        try {
+            int moved = imageUserService.migrateInlineImageData(batchSize);
+            if (moved == 0) {
+                completed = true;
+                log.info("Image LOB migration complete");
+            } else {
+                log.info("Moved {} images from image_data to image storage", moved);
+            }
+        } catch (Exception e) {
+            log.error("Image LOB migration batch failed, will retry", e);
+        }
+    }
+}
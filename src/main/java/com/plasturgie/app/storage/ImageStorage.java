@@ -0,0 +1,67 @@
+package com.plasturgie.app.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Storage backend for image content. Only metadata and the returned storage key
+ * are kept in the database.
+ */
+public interface ImageStorage {
+    /**
+     * Store image content. The stored content is pinned: it cannot be deleted until
+     * release is called, which the caller does once the row referencing it has committed.
+     *
+     * @param content The image content stream
+     * @return The storage key and size of the stored content
+     * @throws IOException If the content cannot be read or written
+     */
+    StoredImage store(InputStream content) throws IOException;
+
+    /**
+     * Check whether content exists for a storage key
+     *
+     * @param key The storage key
+     * @return True if the content exists
+     */
+    boolean exists(String key);
+
+    /**
+     * Open stored content for reading
+     *
+     * @param key The storage key
+     * @return A stream over the content; the caller must close it
+     * @throws IOException If the content cannot be opened
+     */
+    InputStream read(String key) throws IOException;
+
+    /**
+     * Copy stored content to an output stream
+     *
+     * @param key The storage key
+     * @param outputStream The stream to write to
+     * @throws IOException If the content cannot be read or written
+     */
+    void writeTo(String key, OutputStream outputStream) throws IOException;
+
+    /**
+     * Unpin content returned by store
+     *
+     * @param key The storage key
+     */
+    void release(String key);
+
+    /**
+     * Delete stored content unless it is pinned by an upload in progress or still referenced.
+     * Both checks and the deletion run under the key's lock, which store also takes, so a
+     * concurrent upload of identical content either keeps it pinned or writes it again.
+     *
+     * @param key The storage key
+     * @param referenced Whether any row still references the content
+     * @return True if the content was deleted
+     * @throws IOException If the content cannot be deleted
+     */
+    boolean deleteIfUnreferenced(String key, BooleanSupplier referenced) throws IOException;
+}
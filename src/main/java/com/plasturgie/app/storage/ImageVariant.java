@@ -0,0 +1,53 @@
+package com.plasturgie.app.storage;
+
+/**
+ * A scaled copy of a stored image, identified by the original's storage key and its bounding size
+ */
+public class ImageVariant {
+
+    private final String storageKey;
+    private final int size;
+    private final String format;
+    private final long contentLength;
+
+    public ImageVariant(String storageKey, int size, String format, long contentLength) {
+        this.storageKey = storageKey;
+        this.size = size;
+        this.format = format;
+        this.contentLength = contentLength;
+    }
+
+    public String getStorageKey() {
+        return storageKey;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getContentType() {
+        return "image/" + format;
+    }
+
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Entity tag of the variant, derived from the original content hash
+     */
+    public String getETag() {
+        return eTagFor(storageKey, size);
+    }
+
+    /**
+     * Entity tag of a variant that may not have been generated yet
+     */
+    public static String eTagFor(String storageKey, int size) {
+        return storageKey + "-" + size;
+    }
+}
@@ -0,0 +1,237 @@
+package com.plasturgie.app.storage;
+
+import com.plasturgie.app.cache.BoundedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates and caches scaled variants of stored images on disk.
+ * Variants are produced in a background executor after upload; a variant that is
+ * missing when requested (queue full, legacy upload) is generated on demand.
+ * Scaling uses plain java.awt/ImageIO so it needs no native libraries.
+ * Originals that ImageIO cannot decode are remembered, so they are read only once.
+ */
+@Component
+public class ImageVariantStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantStore.class);
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    private final Path root;
+    private final List<Integer> sizes;
+    private final ExecutorService executor;
+
+    // Storage keys whose content is not a decodable image; content never changes under a key, so no expiry
+    private final BoundedCache<String, Boolean> undecodable;
+
+    public ImageVariantStore(
+            @Value("${app.image-storage.location:./data/images}") String location,
+            @Value("${app.image-storage.variants.sizes:64,256,1024}") List<Integer> sizes,
+            @Value("${app.image-storage.variants.threads:2}") int threads,
+            @Value("${app.image-storage.variants.queue-capacity:200}") int queueCapacity,
+            @Value("${app.image-storage.variants.undecodable-cache-size:10000}") int undecodableCacheSize) throws IOException {
+        this.root = Paths.get(location).toAbsolutePath().normalize().resolve("variants");
+        this.sizes = Collections.unmodifiableList(sizes.stream().sorted().collect(Collectors.toList()));
+        this.undecodable = new BoundedCache<>(undecodableCacheSize, 0);
+        Files.createDirectories(root);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        // Excess work is dropped: variants are regenerated on demand if missing
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public List<Integer> getSizes() {
+        return sizes;
+    }
+
+    public boolean isSupportedSize(int size) {
+        return sizes.contains(size);
+    }
+
+    /**
+     * Whether the original is already known not to be a decodable image, in which case
+     * it has no variants and is served at full size
+     *
+     * @param storageKey The storage key of the original image
+     */
+    public boolean isKnownUndecodable(String storageKey) {
+        return undecodable.get(storageKey) != null;
+    }
+
+    /**
+     * Queue generation of all configured variants for a stored image
+     *
+     * @param storageKey The storage key of the original image
+     * @param contentType The content type of the original image
+     */
+    public void generateAsync(String storageKey, String contentType) {
+        executor.execute(() -> {
+            for (Integer size : sizes) {
+                try {
+                    if (getOrCreate(storageKey, contentType, size) == null) {
+                        return;
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to generate {}px variant of image {}", size, storageKey, e);
+                    return;
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the cached variant, generating it first if needed
+     *
+     * @param storageKey The storage key of the original image
+     * @param contentType The content type of the original image
+     * @param size The bounding size in pixels
+     * @return The variant, or null if the original cannot be decoded as an image
+     * @throws IOException If reading the original or writing the variant fails
+     */
+    public ImageVariant getOrCreate(String storageKey, String contentType, int size) throws IOException {
+        if (!isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported image size: " + size);
+        }
+        if (isKnownUndecodable(storageKey)) {
+            return null;
+        }
+        String format = formatFor(contentType);
+        Path path = resolve(storageKey, size, format);
+
+        if (!Files.exists(path)) {
+            BufferedImage original;
+            try (InputStream in = imageStorage.read(storageKey)) {
+                original = ImageIO.read(in);
+            }
+            if (original == null) {
+                undecodable.put(storageKey, Boolean.TRUE);
+                log.debug("Image {} cannot be decoded, serving it without variants", storageKey);
+                return null;
+            }
+
+            BufferedImage scaled = scale(original, size, "png".equals(format));
+            Files.createDirectories(path.getParent());
+            Path tempFile = Files.createTempFile(path.getParent(), "variant-", ".part");
+            try {
+                if (!ImageIO.write(scaled, format, tempFile.toFile())) {
+                    throw new IOException("No ImageIO writer for format " + format);
+                }
+                Files.move(tempFile, path, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            log.debug("Generated {}px variant of image {}", size, storageKey);
+        }
+        return new ImageVariant(storageKey, size, format, Files.size(path));
+    }
+
+    public void writeTo(ImageVariant variant, OutputStream outputStream) throws IOException {
+        Files.copy(resolve(variant.getStorageKey(), variant.getSize(), variant.getFormat()), outputStream);
+    }
+
+    /**
+     * Delete every cached variant of a stored image
+     *
+     * @param storageKey The storage key of the original image
+     */
+    public void deleteAll(String storageKey) throws IOException {
+        undecodable.invalidate(storageKey);
+        for (Integer size : sizes) {
+            for (String format : new String[]{"png", "jpeg"}) {
+                Files.deleteIfExists(resolve(storageKey, size, format));
+            }
+        }
+    }
+
+    /**
+     * Scales an image so that its longest side fits in maxDimension, halving in steps
+     * for better quality on large reductions. Images are never enlarged.
+     */
+    static BufferedImage scale(BufferedImage source, int maxDimension, boolean keepAlpha) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(height * ratio));
+        int type = keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                if (!keepAlpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+
+        return current;
+    }
+
+    private static String formatFor(String contentType) {
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        // Formats that may carry transparency are kept lossless
+        return Stream.of("png", "gif", "webp", "bmp").anyMatch(type::contains) ? "png" : "jpeg";
+    }
+
+    private Path resolve(String storageKey, int size, String format) {
+        if (storageKey == null || !storageKey.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Invalid image storage key: " + storageKey);
+        }
+        return root.resolve(Integer.toString(size)).resolve(storageKey.substring(0, 2)).resolve(storageKey + "." + format);
+    }
+}
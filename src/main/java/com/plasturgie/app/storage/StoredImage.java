@@ -0,0 +1,23 @@
+package com.plasturgie.app.storage;
+
+/**
+ * Result of storing image content: its storage key and size in bytes
+ */
+public class StoredImage {
+
+    private final String key;
+    private final long size;
+
+    public StoredImage(String key, long size) {
+        this.key = key;
+        this.size = size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
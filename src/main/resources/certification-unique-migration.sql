@@ -0,0 +1,36 @@
+-- Certification uniqueness migration
+-- Certification now declares a unique (user_id, course_id) constraint, so a learner holds at most
+-- one certification per course even when two issuances run at the same time. ddl-auto=update only
+-- logs a warning when it cannot add the constraint, which is the case on any database that already
+-- holds duplicates, so run the statements below once before starting the new version.
+
+-- 1. Review the duplicates; the DELETE below keeps one row per learner and course,
+--    preferring an active certification and then the earliest one.
+SELECT user_id, course_id, COUNT(*) AS certifications
+FROM certifications
+WHERE user_id IS NOT NULL AND course_id IS NOT NULL
+GROUP BY user_id, course_id
+HAVING COUNT(*) > 1;
+
+-- 2. Remove the duplicates (PostgreSQL and Oracle). Their certificate codes stop verifying.
+DELETE FROM certifications
+WHERE certification_id IN (
+    SELECT certification_id FROM (
+        SELECT certification_id,
+               ROW_NUMBER() OVER (PARTITION BY user_id, course_id
+                                  ORDER BY CASE WHEN status = 'active' THEN 0 ELSE 1 END,
+                                           certification_id) AS duplicate_rank
+        FROM certifications
+        WHERE user_id IS NOT NULL AND course_id IS NOT NULL
+    ) ranked
+    WHERE duplicate_rank > 1
+);
+
+-- 3. Add the constraint (PostgreSQL and Oracle)
+ALTER TABLE certifications ADD CONSTRAINT uk_certifications_user_course UNIQUE (user_id, course_id);
+
+-- Oracle (tables created through quoted identifiers need the quoted lower-case names)
+-- ALTER TABLE "certifications" ADD CONSTRAINT "uk_certifications_user_course" UNIQUE ("user_id", "course_id");
+
+-- Check: should return no rows
+-- SELECT user_id, course_id FROM certifications GROUP BY user_id, course_id HAVING COUNT(*) > 1;
@@ -0,0 +1,29 @@
+-- ID sequence migration (pooled-lo allocation)
+-- Entities now reserve 50 IDs per sequence value, so every sequence must increment by 50.
+-- SequenceAllocationConfig re-bases existing sequences at startup (app.id-sequences.rebase=true);
+-- run the statements below instead when the application user may not alter sequences.
+-- After the change the next value is 50 past the last one, which is above every ID already issued.
+-- Re-base before starting the new version. Instances still on allocationSize=1 keep working
+-- afterwards, since they only use the sequence value itself, so a rolling deployment is safe.
+
+-- PostgreSQL
+ALTER SEQUENCE user_seq INCREMENT BY 50;
+ALTER SEQUENCE company_seq INCREMENT BY 50;
+ALTER SEQUENCE service_seq INCREMENT BY 50;
+ALTER SEQUENCE course_seq INCREMENT BY 50;
+ALTER SEQUENCE instructor_seq INCREMENT BY 50;
+ALTER SEQUENCE enrollment_seq INCREMENT BY 50;
+ALTER SEQUENCE review_seq INCREMENT BY 50;
+ALTER SEQUENCE payment_seq INCREMENT BY 50;
+ALTER SEQUENCE certification_seq INCREMENT BY 50;
+ALTER SEQUENCE event_seq INCREMENT BY 50;
+ALTER SEQUENCE event_registration_seq INCREMENT BY 50;
+ALTER SEQUENCE image_user_seq INCREMENT BY 50;
+
+-- Oracle (same statements; sequences created through quoted identifiers need the quoted lower-case name)
+-- ALTER SEQUENCE user_seq INCREMENT BY 50;
+-- ...
+
+-- Check: every row should show 50
+-- PostgreSQL: SELECT sequencename, increment_by, last_value FROM pg_sequences WHERE schemaname = current_schema();
+-- Oracle:     SELECT sequence_name, increment_by, last_number FROM user_sequences;
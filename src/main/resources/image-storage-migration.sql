@@ -0,0 +1,15 @@
+-- Image storage migration
+-- New uploads are written to the configured image storage and leave image_users.image_data empty.
+-- ddl-auto=update adds the storage_key and content_length columns but does not relax the
+-- existing NOT NULL constraint on image_data, so run the statement for your database once.
+
+-- PostgreSQL
+ALTER TABLE image_users ALTER COLUMN image_data DROP NOT NULL;
+
+-- Oracle
+-- ALTER TABLE image_users MODIFY (image_data NULL);
+
+-- Existing LOBs are then moved out in batches by setting
+-- app.image-storage.migration.enabled=true (see ImageMigrationJob).
+-- On PostgreSQL the moved large objects stay in pg_largeobject until cleaned up,
+-- e.g. with the vacuumlo utility.
@@ -1,32 +1,39 @@
 -- Oracle sequences for entity ID generation
 -- Run this script when initializing the Oracle database
+-- Every sequence increments by the entities' allocationSize (50): each value reserves a block of IDs
 
 -- User sequence
-CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 50;
 
 -- Company sequence
-CREATE SEQUENCE company_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE company_seq START WITH 1 INCREMENT BY 50;
 
 -- Course sequence
-CREATE SEQUENCE course_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE course_seq START WITH 1 INCREMENT BY 50;
 
 -- Instructor sequence
-CREATE SEQUENCE instructor_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE instructor_seq START WITH 1 INCREMENT BY 50;
 
 -- Event sequence
-CREATE SEQUENCE event_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE event_seq START WITH 1 INCREMENT BY 50;
 
 -- Payment sequence
-CREATE SEQUENCE payment_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE payment_seq START WITH 1 INCREMENT BY 50;
 
 -- Enrollment sequence
-CREATE SEQUENCE enrollment_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE enrollment_seq START WITH 1 INCREMENT BY 50;
 
 -- Service sequence
-CREATE SEQUENCE service_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE service_seq START WITH 1 INCREMENT BY 50;
 
 -- Review sequence
-CREATE SEQUENCE review_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE review_seq START WITH 1 INCREMENT BY 50;
 
 -- Certification sequence
-CREATE SEQUENCE certification_seq START WITH 1 INCREMENT BY 1;
\ No newline at end of file
+CREATE SEQUENCE certification_seq START WITH 1 INCREMENT BY 50;
+
+-- Event registration sequence
+CREATE SEQUENCE event_registration_seq START WITH 1 INCREMENT BY 50;
+
+-- Image user sequence
+CREATE SEQUENCE image_user_seq START WITH 1 INCREMENT BY 50;
\ No newline at end of file
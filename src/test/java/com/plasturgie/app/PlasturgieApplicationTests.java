@@ -0,0 +1,17 @@
+package com.plasturgie.app;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Starts the full application context, including the entity mappings and their indexes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PlasturgieApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+}
@@ -0,0 +1,95 @@
+package com.plasturgie.app.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.Review;
+import com.plasturgie.app.model.Service;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every response DTO that reaches a User must leave its credentials and tokens behind.
+ */
+class ResponseDTOSerializationTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUserId(7L);
+        user.setUsername("rep");
+        user.setEmail("rep@example.com");
+        user.setPasswordHash("$2a$10$secret-hash");
+        user.setJwtToken("secret-token");
+        user.setFirstName("Rania");
+        user.setLastName("Ben Ali");
+        user.setRole(Role.COMPANY_REP);
+    }
+
+    @Test
+    void userProfileOmitsCredentials() {
+        JsonNode json = objectMapper.valueToTree(UserProfileDTO.from(user));
+
+        assertThat(json.get("username").asText()).isEqualTo("rep");
+        assertNoAccountData(json);
+    }
+
+    @Test
+    void instructorReferencesItsUserByIdAndName() {
+        Instructor instructor = new Instructor();
+        instructor.setInstructorId(3L);
+        instructor.setUser(user);
+        instructor.setExpertise("Extrusion");
+        instructor.setRating(new BigDecimal("4.5"));
+
+        JsonNode json = objectMapper.valueToTree(InstructorDTO.from(instructor));
+
+        assertThat(json.get("userId").asLong()).isEqualTo(7L);
+        // Courses are only listed by the profile endpoint
+        assertThat(json.has("courses")).isFalse();
+        assertNoAccountData(json);
+    }
+
+    @Test
+    void companyServiceAndReviewReferenceUsersById() {
+        Company company = new Company();
+        company.setCompanyId(11L);
+        company.setName("Plastiques du Sahel");
+        company.setRepresentative(user);
+        Service service = new Service();
+        service.setServiceId(12L);
+        service.setCompany(company);
+        service.setName("Mould design");
+        Review review = new Review();
+        review.setReviewId(13L);
+        review.setUser(user);
+        review.setRating(5);
+
+        JsonNode companyJson = objectMapper.valueToTree(CompanyDTO.from(company));
+        JsonNode serviceJson = objectMapper.valueToTree(ServiceDTO.from(service));
+        JsonNode reviewJson = objectMapper.valueToTree(ReviewDTO.from(review));
+
+        assertThat(companyJson.get("representativeId").asLong()).isEqualTo(7L);
+        assertThat(serviceJson.get("companyName").asText()).isEqualTo("Plastiques du Sahel");
+        assertThat(reviewJson.get("userId").asLong()).isEqualTo(7L);
+        assertNoAccountData(companyJson);
+        assertNoAccountData(serviceJson);
+        assertNoAccountData(reviewJson);
+    }
+
+    private static void assertNoAccountData(JsonNode json) {
+        assertThat(json.toString()).doesNotContain("passwordHash", "secret-hash", "jwtToken", "secret-token");
+    }
+}
@@ -0,0 +1,160 @@
+package com.plasturgie.app.integration;
+
+import com.plasturgie.app.model.enums.Status;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fault injection for payment verification: a local HTTP server plays the gateway and
+ * answers with the status code, body or delay under test.
+ */
+class ClicToPayServiceTest {
+
+    private static final int REQUEST_TIMEOUT_MILLIS = 300;
+
+    private HttpServer gateway;
+    private ExecutorService gatewayThreads;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile int responseStatus;
+    private volatile String responseBody;
+    private volatile long responseDelayMillis;
+
+    private ClicToPayService clicToPayService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        gateway = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        gateway.createContext("/payments/verify/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(responseStatus, body.length == 0 ? -1 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException e) {
+                // The client gave up waiting
+            }
+        });
+        gatewayThreads = Executors.newCachedThreadPool();
+        gateway.setExecutor(gatewayThreads);
+        gateway.start();
+
+        // One retry allowed per call: a 100% budget deposit pays for exactly one retry.
+        // The window is wide enough that the circuit stays closed.
+        clicToPayService = newService(20, 50, 1, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clicToPayService.shutdown();
+        gateway.stop(0);
+        gatewayThreads.shutdownNow();
+    }
+
+    @Test
+    void explicitCompletedSettlesTheCall() {
+        answer(200, "{\"status\":\"COMPLETED\"}");
+
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    void explicitFailedIsTheOnlyWayToFail() {
+        answer(200, "{\"status\":\"failed\"}");
+
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.FAILED);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 401, 403, 404, 408, 429, 500, 502, 503})
+    void nonSuccessfulAnswersLeaveThePaymentPending(int statusCode) {
+        answer(statusCode, "{\"status\":\"failed\"}");
+
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.PENDING);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "not json", "[]", "{}", "{\"status\":null}", "{\"status\":42}",
+            "{\"status\":\"refunded\"}", "{\"state\":\"failed\"}"})
+    void unreadableOrUnknownStatusLeavesThePaymentPending(String body) {
+        answer(200, body);
+
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void timeoutLeavesThePaymentPending() {
+        answer(200, "{\"status\":\"failed\"}");
+        responseDelayMillis = REQUEST_TIMEOUT_MILLIS * 3L;
+
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.PENDING);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {408, 429, 503})
+    void transientErrorsAreRetried(int statusCode) {
+        answer(statusCode, "");
+
+        clicToPayService.verifyPayment("token");
+
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        answer(401, "");
+
+        clicToPayService.verifyPayment("token");
+
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void openCircuitLeavesThePaymentPendingWithoutCallingTheGateway() {
+        clicToPayService.shutdown();
+        // No retries, and two failures in a window of two open the circuit
+        clicToPayService = newService(2, 50, 0, 0);
+        answer(503, "");
+        clicToPayService.verifyPayment("token");
+        clicToPayService.verifyPayment("token");
+        assertThat(clicToPayService.isAvailable()).isFalse();
+
+        answer(200, "{\"status\":\"failed\"}");
+        assertThat(clicToPayService.verifyPayment("token")).isEqualTo(Status.PENDING);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    private void answer(int status, String body) {
+        responseStatus = status;
+        responseBody = body;
+    }
+
+    private ClicToPayService newService(int windowSize, int failureRateThreshold, int verifyRetries, int retryBudgetPercent) {
+        ClicToPayService service = new ClicToPayService(new SimpleMeterRegistry(), 1000, REQUEST_TIMEOUT_MILLIS, 2,
+                windowSize, failureRateThreshold, 60000, 10, verifyRetries, 1, retryBudgetPercent);
+        ReflectionTestUtils.setField(service, "apiUrl", "http://127.0.0.1:" + gateway.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "merchantId", "test-merchant");
+        return service;
+    }
+}
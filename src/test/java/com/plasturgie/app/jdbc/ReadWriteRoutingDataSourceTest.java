@@ -0,0 +1,144 @@
+package com.plasturgie.app.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two H2 databases, each holding a row that names it, the same way
+ * ReadReplicaConfig wires the router behind a LazyConnectionDataSourceProxy.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private static final long PIN_WINDOW = 60000;
+
+    private final DataSource primary = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+    private final DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        initialise(primary, "primary");
+        initialise(replica, "replica");
+        useRouter(new ReadWriteRoutingDataSource(primary, replica, PIN_WINDOW, 100, 30000));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionReadsFromReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        writeTransaction.executeWithoutResult(status -> {
+            assertThat(currentNode()).isEqualTo("primary");
+            jdbcTemplate.update("INSERT INTO routing_node (name) VALUES ('written')");
+        });
+
+        assertThat(new JdbcTemplate(primary).queryForList("SELECT name FROM routing_node", String.class))
+                .containsExactlyInAnyOrder("primary", "written");
+        assertThat(new JdbcTemplate(replica).queryForList("SELECT name FROM routing_node", String.class))
+                .containsExactly("replica");
+    }
+
+    @Test
+    void readOutsideReadOnlyTransactionUsesPrimary() {
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void userWhoJustWroteReadsFromPrimary() {
+        authenticate("writer");
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO routing_node (name) VALUES ('written')"));
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        // Other users are not pinned
+        authenticate("reader");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWriteDoesNotPin() {
+        authenticate("writer");
+        writeTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO routing_node (name) VALUES ('discarded')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        // IFEXISTS refuses to create the database, so every connection attempt fails
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:routing-missing;IFEXISTS=TRUE", "sa", "");
+        useRouter(new ReadWriteRoutingDataSource(primary, unreachable, PIN_WINDOW, 100, 30000));
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void explicitCredentialsConnectToPrimary() throws Exception {
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(primary, replica, PIN_WINDOW, 100, 30000);
+
+        try (Connection connection = router.getConnection("sa", "")) {
+            assertThat(connection.getMetaData().getURL()).startsWith("jdbc:h2:mem:routing-primary");
+        }
+    }
+
+    private void useRouter(ReadWriteRoutingDataSource router) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(router);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String readOnlyNode() {
+        return readOnlyTransaction.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        List<String> names = jdbcTemplate.queryForList("SELECT name FROM routing_node ORDER BY name", String.class);
+        return names.get(0);
+    }
+
+    private static void initialise(DataSource dataSource, String name) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE IF NOT EXISTS routing_node (name VARCHAR(20))");
+        template.update("DELETE FROM routing_node");
+        template.update("INSERT INTO routing_node (name) VALUES (?)", name);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                username, null, List.of(new SimpleGrantedAuthority("ROLE_LEARNER"))));
+    }
+}
@@ -0,0 +1,119 @@
+package com.plasturgie.app.jdbc;
+
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.repository.CourseRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entities loaded in a read-only transaction, which the router sends to the replica,
+ * must not be put into the second-level cache; other transactions still populate it.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaReadJpaDialectTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Statistics statistics;
+    private Long courseId;
+
+    @BeforeEach
+    void setUp() {
+        // Set after construction: afterPropertiesSet would replace it with the factory's dialect
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setJpaDialect(new ReplicaReadJpaDialect());
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Course course = new Course();
+        course.setTitle("Thermoforming");
+        courseId = courseRepository.save(course).getCourseId();
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteById(courseId);
+    }
+
+    @Test
+    void readOnlyTransactionDoesNotPopulateCache() {
+        readOnlyTransaction.executeWithoutResult(status -> entityManager.find(Course.class, courseId));
+
+        assertThat(entityManagerFactory.getCache().contains(Course.class, courseId)).isFalse();
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    void writeTransactionPopulatesCache() {
+        writeTransaction.executeWithoutResult(status -> entityManager.find(Course.class, courseId));
+
+        assertThat(entityManagerFactory.getCache().contains(Course.class, courseId)).isTrue();
+    }
+
+    @Test
+    void readOnlyTransactionStillReadsFromCache() {
+        writeTransaction.executeWithoutResult(status -> entityManager.find(Course.class, courseId));
+        statistics.clear();
+
+        readOnlyTransaction.executeWithoutResult(status -> entityManager.find(Course.class, courseId));
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void storeModeIsRestoredWhenTheTransactionEnds() throws Exception {
+        // With open-in-view the same entity manager serves later write transactions
+        EntityManager requestEntityManager = entityManagerFactory.createEntityManager();
+        try {
+            ReplicaReadJpaDialect dialect = new ReplicaReadJpaDialect();
+            DefaultTransactionDefinition readOnly = new DefaultTransactionDefinition();
+            readOnly.setReadOnly(true);
+
+            Object transactionData = dialect.beginTransaction(requestEntityManager, readOnly);
+            assertThat(requestEntityManager.getProperties().get("javax.persistence.cache.storeMode"))
+                    .isEqualTo(CacheStoreMode.BYPASS);
+            requestEntityManager.getTransaction().commit();
+            dialect.cleanupTransaction(transactionData);
+
+            assertThat(requestEntityManager.getProperties().get("javax.persistence.cache.storeMode"))
+                    .isEqualTo(CacheStoreMode.USE);
+        } finally {
+            requestEntityManager.close();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.plasturgie.app.registration;
+
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.EventRegistration;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.repository.EventRegistrationRepository;
+import com.plasturgie.app.repository.EventRepository;
+import com.plasturgie.app.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admission through the queue's own workers, each batch committing on its own, so the
+ * test runs outside a test transaction and removes its rows afterwards.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RegistrationAdmissionQueue.class, EventWaitlist.class})
+class RegistrationAdmissionQueueTest {
+
+    private static final Long UNKNOWN_USER_ID = 999_999L;
+
+    @Autowired
+    private RegistrationAdmissionQueue admissionQueue;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Event event;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        event = new Event();
+        event.setTitle("Extrusion workshop");
+        event.setMaxParticipants(10);
+        event.setCurrentParticipants(0);
+        event = eventRepository.save(event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRegistrationRepository.deleteAllInBatch(eventRegistrationRepository.findByEvent(event));
+        eventRepository.deleteById(event.getEventId());
+        userRepository.deleteAllInBatch(users);
+    }
+
+    @Test
+    void doubleSubmitTakesOneSeat() throws Exception {
+        Long userId = newUser("twice").getUserId();
+
+        CompletableFuture<EventRegistration> first = admissionQueue.submit(userId, event.getEventId());
+        CompletableFuture<EventRegistration> second = admissionQueue.submit(userId, event.getEventId());
+
+        assertThat(second.get(10, TimeUnit.SECONDS).getRegistrationId())
+                .isEqualTo(first.get(10, TimeUnit.SECONDS).getRegistrationId());
+        assertThat(eventRegistrationRepository.findByEvent(event)).hasSize(1);
+        assertThat(currentParticipants()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedRegistrationFailsOnlyItsOwnRequest() throws Exception {
+        Long before = newUser("before").getUserId();
+        Long after = newUser("after").getUserId();
+
+        CompletableFuture<EventRegistration> admitted = admissionQueue.submit(before, event.getEventId());
+        // No such user: the foreign key rejects this row
+        CompletableFuture<EventRegistration> rejected = admissionQueue.submit(UNKNOWN_USER_ID, event.getEventId());
+        CompletableFuture<EventRegistration> alsoAdmitted = admissionQueue.submit(after, event.getEventId());
+
+        assertThat(admitted.get(10, TimeUnit.SECONDS).getRegistrationId()).isNotNull();
+        assertThat(alsoAdmitted.get(10, TimeUnit.SECONDS).getRegistrationId()).isNotNull();
+        assertThat(rejected).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(eventRegistrationRepository.findByEvent(event)).hasSize(2);
+        assertThat(currentParticipants()).isEqualTo(2);
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("Learner");
+        user.setLastName(username);
+        user.setRole(Role.LEARNER);
+        user = userRepository.save(user);
+        users.add(user);
+        return user;
+    }
+
+    private int currentParticipants() {
+        return eventRepository.findById(event.getEventId()).map(Event::getCurrentParticipants).orElseThrow();
+    }
+}
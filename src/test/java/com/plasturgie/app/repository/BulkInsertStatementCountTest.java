@@ -0,0 +1,115 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.Enrollment;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.EventRegistration;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.model.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk inserts cost one sequence call per 50 IDs and a single insert statement reused
+ * across JDBC batches, instead of a sequence call and a prepared insert per row.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BulkInsertStatementCountTest {
+
+    private static final int ROWS = 200;
+    // ROWS / allocationSize sequence calls plus the batched insert; unbatched, every row prepares its own insert
+    private static final int EXPECTED_STATEMENTS = 4 + 1;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private EventRegistrationRepository eventRegistrationRepository;
+
+    private Statistics statistics;
+    private List<User> users;
+    private Course course;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            User user = new User();
+            user.setUsername("bulk" + i);
+            user.setEmail("bulk" + i + "@example.com");
+            user.setPasswordHash("hash");
+            user.setFirstName("Learner");
+            user.setLastName(Integer.toString(i));
+            user.setRole(Role.LEARNER);
+            users.add(entityManager.persist(user));
+        }
+        course = new Course();
+        course.setTitle("Compounding");
+        entityManager.persist(course);
+        event = new Event();
+        event.setTitle("Trade fair");
+        entityManager.persist(event);
+        entityManager.flush();
+        statistics.clear();
+    }
+
+    @Test
+    void enrollmentsAreInsertedInBatches() {
+        List<Enrollment> enrollments = new ArrayList<>(ROWS);
+        for (User user : users) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setUser(user);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(LocalDateTime.now());
+            enrollment.setStatus(Status.PENDING);
+            enrollments.add(enrollment);
+        }
+        enrollmentRepository.saveAll(enrollments);
+        enrollmentRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    @Test
+    void registrationsAreInsertedInBatches() {
+        List<EventRegistration> registrations = new ArrayList<>(ROWS);
+        for (User user : users) {
+            EventRegistration registration = new EventRegistration();
+            registration.setUser(user);
+            registration.setEvent(event);
+            registration.setStatus(Status.PENDING);
+            registration.setRegistrationDate(LocalDateTime.now());
+            registration.setAttended(false);
+            registrations.add(registration);
+        }
+        eventRegistrationRepository.saveAll(registrations);
+        eventRegistrationRepository.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(EXPECTED_STATEMENTS);
+    }
+}
@@ -0,0 +1,119 @@
+package com.plasturgie.app.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plasturgie.app.dto.CertificationDTO;
+import com.plasturgie.app.model.Certification;
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the certification responses against N+1 loading and against serializing entities.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CertificationRepositoryTest {
+
+    private static final int LEARNERS = 30;
+
+    // Generous bound for one serialized CertificationDTO; an entity with its User and Course is several times larger
+    private static final int MAX_BYTES_PER_CERTIFICATION = 400;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CertificationRepository certificationRepository;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private Statistics statistics;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        course = new Course();
+        course.setTitle("Injection moulding");
+        entityManager.persist(course);
+        for (int i = 0; i < LEARNERS; i++) {
+            User user = new User();
+            user.setUsername("learner" + i);
+            user.setEmail("learner" + i + "@example.com");
+            user.setPasswordHash("$2a$10$secret-hash-" + i);
+            user.setJwtToken("token-" + i);
+            user.setFirstName("Learner");
+            user.setLastName(Integer.toString(i));
+            user.setRole(Role.LEARNER);
+            entityManager.persist(user);
+
+            Certification certification = new Certification();
+            certification.setUser(user);
+            certification.setCourse(course);
+            certification.setCertificateCode("CERT-" + i);
+            certification.setIssueDate(LocalDateTime.now());
+            certification.setStatus("active");
+            entityManager.persist(certification);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void certificationsOfACourseAreLoadedWithHoldersAndCourseInOneQuery() {
+        List<CertificationDTO> certifications = certificationRepository.findByCourse(course).stream()
+                .map(CertificationDTO::from)
+                .collect(Collectors.toList());
+
+        assertThat(certifications).hasSize(LEARNERS);
+        assertThat(certifications).allSatisfy(certification -> {
+            assertThat(certification.getFirstName()).isEqualTo("Learner");
+            assertThat(certification.getCourseTitle()).isEqualTo("Injection moulding");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void certificationsByStatusAreLoadedWithoutPerRowQueries() {
+        List<CertificationDTO> page = certificationRepository.findByStatus("active", PageRequest.of(0, 20))
+                .map(CertificationDTO::from)
+                .getContent();
+
+        assertThat(page).hasSize(20);
+        // The page query and its count query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void certificationResponseCarriesNoAccountData() throws Exception {
+        List<CertificationDTO> certifications = certificationRepository.findByCourse(course).stream()
+                .map(CertificationDTO::from)
+                .collect(Collectors.toList());
+
+        String json = objectMapper.writeValueAsString(certifications);
+
+        assertThat(json).doesNotContain("passwordHash", "secret-hash", "jwtToken", "token-", "eventRegistrations");
+        assertThat(json.getBytes().length).isLessThan(LEARNERS * MAX_BYTES_PER_CERTIFICATION);
+    }
+}
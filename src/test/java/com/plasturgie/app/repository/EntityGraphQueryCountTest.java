@@ -0,0 +1,151 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.Company;
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.Event;
+import com.plasturgie.app.model.Instructor;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each named fetch plan loads its use case in one statement: walking the associations
+ * it names afterwards issues no further queries.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EntityGraphQueryCountTest {
+
+    private static final int COURSES = 10;
+    private static final int INSTRUCTORS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Statistics statistics;
+    private Long courseId;
+    private Long instructorId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        List<Instructor> instructors = new ArrayList<>();
+        for (int i = 0; i < INSTRUCTORS; i++) {
+            Instructor instructor = new Instructor();
+            instructor.setUser(newUser("instructor" + i));
+            instructor.setExpertise("Extrusion");
+            entityManager.persist(instructor);
+            instructors.add(instructor);
+        }
+        instructorId = instructors.get(0).getInstructorId();
+
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setTitle("Extrusion " + i);
+            course.setCategory("Extrusion");
+            course.getInstructors().addAll(instructors);
+            courseId = entityManager.persist(course).getCourseId();
+        }
+
+        for (int i = 0; i < COURSES; i++) {
+            Company company = new Company();
+            company.setName("Moulder " + i);
+            entityManager.persist(company);
+            Event event = new Event();
+            event.setTitle("Open day " + i);
+            event.setEventDate(LocalDateTime.now().plusDays(i + 1));
+            event.setCompany(company);
+            entityManager.persist(event);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void courseListingLoadsInstructorsAndTheirUsersInOneQuery() {
+        List<Course> courses = courseRepository.findDistinctByCategory("Extrusion");
+
+        assertThat(courses).hasSize(COURSES);
+        assertThat(courses).allSatisfy(course -> assertThat(course.getInstructors())
+                .hasSize(INSTRUCTORS)
+                .allSatisfy(instructor -> assertThat(instructor.getUser().getFirstName()).isEqualTo("Instructor")));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void courseDetailLoadsInstructorsAndReviewsInOneQuery() {
+        Course course = courseRepository.findWithDetailsByCourseId(courseId).orElseThrow();
+
+        assertThat(course.getInstructors())
+                .allSatisfy(instructor -> assertThat(instructor.getUser().getFirstName()).isEqualTo("Instructor"));
+        assertThat(course.getReviews()).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void instructorProfileLoadsUserAndCoursesInOneQuery() {
+        Instructor instructor = instructorRepository.findWithCoursesByInstructorId(instructorId).orElseThrow();
+
+        assertThat(instructor.getUser().getFirstName()).isEqualTo("Instructor");
+        assertThat(instructor.getCourses()).hasSize(COURSES);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void instructorListingLoadsUsersInOneQuery() {
+        List<Instructor> instructors = instructorRepository.findByExpertise("Extrusion");
+
+        assertThat(instructors).hasSize(INSTRUCTORS)
+                .allSatisfy(instructor -> assertThat(instructor.getUser().getFirstName()).isEqualTo("Instructor"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void eventListingLoadsCompaniesInOneQuery() {
+        List<Event> events = eventRepository.findByEventDateAfter(LocalDateTime.now());
+
+        assertThat(events).hasSize(COURSES)
+                .allSatisfy(event -> assertThat(event.getCompany().getName()).startsWith("Moulder"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("Instructor");
+        user.setLastName(username);
+        user.setRole(Role.INSTRUCTOR);
+        return entityManager.persist(user);
+    }
+}
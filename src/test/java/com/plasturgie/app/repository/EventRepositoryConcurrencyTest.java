@@ -0,0 +1,142 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races many transactions on the conditional seat UPDATEs, each committing on its own,
+ * and checks the seat count never leaves [0, maxParticipants].
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventRepositoryConcurrencyTest {
+
+    private static final int THREADS = 1000;
+    private static final int SEATS = 100;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (eventId != null) {
+            eventRepository.deleteById(eventId);
+        }
+    }
+
+    @Test
+    void concurrentRegistrationsNeverOversell() throws Exception {
+        eventId = createEvent(0);
+
+        int taken = race(THREADS, id -> eventRepository.incrementParticipantsIfAvailable(id));
+
+        assertThat(taken).isEqualTo(SEATS);
+        assertThat(currentParticipants()).isEqualTo(SEATS);
+    }
+
+    @Test
+    void concurrentCancellationsNeverGoNegative() throws Exception {
+        eventId = createEvent(SEATS);
+
+        int released = race(THREADS, id -> eventRepository.decrementParticipantsIfPositive(id));
+
+        assertThat(released).isEqualTo(SEATS);
+        assertThat(currentParticipants()).isZero();
+    }
+
+    @Test
+    void interleavedRegistrationsAndCancellationsKeepTheCountConsistent() throws Exception {
+        int initial = SEATS / 2;
+        eventId = createEvent(initial);
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // Positive results are seats taken, negative ones seats released
+            tasks.add(i % 2 == 0
+                    ? () -> transaction.execute(status -> eventRepository.incrementParticipantsIfAvailable(eventId))
+                    : () -> -transaction.execute(status -> eventRepository.decrementParticipantsIfPositive(eventId)));
+        }
+        int net = runConcurrently(tasks);
+
+        assertThat(currentParticipants()).isEqualTo(initial + net).isBetween(0, SEATS);
+    }
+
+    private Long createEvent(int currentParticipants) {
+        Event event = new Event();
+        event.setTitle("Extrusion workshop");
+        event.setMaxParticipants(SEATS);
+        event.setCurrentParticipants(currentParticipants);
+        return eventRepository.save(event).getEventId();
+    }
+
+    private int currentParticipants() {
+        return eventRepository.findById(eventId).map(Event::getCurrentParticipants).orElseThrow();
+    }
+
+    private int race(int threads, LongToIntFunction update) throws Exception {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            tasks.add(() -> transaction.execute(status -> update.applyAsInt(eventId)));
+        }
+        return runConcurrently(tasks);
+    }
+
+    // One thread per task, all released at once; returns the sum of the task results
+    private static int runConcurrently(List<Callable<Integer>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Callable<Integer> task : tasks) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            int sum = 0;
+            for (Future<Integer> result : results) {
+                sum += result.get(60, TimeUnit.SECONDS);
+            }
+            return sum;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
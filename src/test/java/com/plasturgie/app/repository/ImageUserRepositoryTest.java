@@ -0,0 +1,112 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.dto.ImageUserMetadataDTO;
+import com.plasturgie.app.model.ImageUser;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The image listings are served from metadata projections: no statement they issue,
+ * count queries included, may select the image_data LOB column.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.plasturgie.app.repository.ImageUserRepositoryTest$CapturedSql")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ImageUserRepositoryTest {
+
+    private static final int IMAGES = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ImageUserRepository imageUserRepository;
+
+    private User user;
+    private Long imageId;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUsername("illustrator");
+        user.setEmail("illustrator@example.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("Image");
+        user.setLastName("Owner");
+        user.setRole(Role.LEARNER);
+        entityManager.persist(user);
+        for (int i = 0; i < IMAGES; i++) {
+            ImageUser image = new ImageUser();
+            image.setFilename("mould-" + i + ".png");
+            image.setContentType("image/png");
+            image.setStorageKey("key-" + i);
+            image.setContentLength(1024L);
+            image.setUser(user);
+            imageId = entityManager.persist(image).getId();
+        }
+        entityManager.flush();
+        entityManager.clear();
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    void imageListingSelectsNoLob() {
+        Page<ImageUserMetadataDTO> page = imageUserRepository.findAllMetadata(PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(IMAGES);
+        assertNoLobSelected();
+    }
+
+    @Test
+    void userImageListingSelectsNoLob() {
+        Page<ImageUserMetadataDTO> page = imageUserRepository.findMetadataByUserId(
+                user.getUserId(), PageRequest.of(0, 2, Sort.by("id")));
+
+        assertThat(page.getContent()).extracting(ImageUserMetadataDTO::getUserId).containsOnly(user.getUserId());
+        assertThat(page.getTotalElements()).isEqualTo(IMAGES);
+        assertNoLobSelected();
+    }
+
+    @Test
+    void imageMetadataSelectsNoLob() {
+        assertThat(imageUserRepository.findMetadataById(imageId)).isPresent();
+        assertNoLobSelected();
+    }
+
+    private static void assertNoLobSelected() {
+        assertThat(CapturedSql.STATEMENTS).isNotEmpty();
+        assertThat(CapturedSql.STATEMENTS).allSatisfy(sql -> assertThat(sql).doesNotContainIgnoringCase("image_data"));
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares.
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.plasturgie.app.repository;
+
+import com.plasturgie.app.model.Payment;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.model.enums.Status;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The payment callback looks its payment up by ClicToPay token: one statement served by
+ * the unique token index, whatever the size of the payments table.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PaymentRepositoryTest {
+
+    private static final int PAYMENTS = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        User user = new User();
+        user.setUsername("payer");
+        user.setEmail("payer@example.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("Paying");
+        user.setLastName("Learner");
+        user.setRole(Role.LEARNER);
+        entityManager.persist(user);
+        for (int i = 0; i < PAYMENTS; i++) {
+            Payment payment = new Payment();
+            payment.setUser(user);
+            payment.setAmount(BigDecimal.TEN);
+            payment.setCurrency("TND");
+            payment.setClictopayToken("token-" + i);
+            payment.setStatus(Status.PENDING);
+            entityManager.persist(payment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void tokenLookupLoadsOnePaymentInOneQuery() {
+        Payment payment = paymentRepository.findByClictopayToken("token-250").orElseThrow();
+
+        assertThat(payment.getClictopayToken()).isEqualTo("token-250");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenLookupUsesTheTokenIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM payments WHERE clictopay_token = 'token-250'", String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_payments_clictopay_token");
+    }
+}
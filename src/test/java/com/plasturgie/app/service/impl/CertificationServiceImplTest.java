@@ -0,0 +1,187 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.dto.CertificationBatchResultDTO;
+import com.plasturgie.app.model.Certification;
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.Enrollment;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.CertificationRepository;
+import com.plasturgie.app.repository.CourseRepository;
+import com.plasturgie.app.repository.EnrollmentRepository;
+import com.plasturgie.app.repository.UserRepository;
+import com.plasturgie.app.service.CourseService;
+import com.plasturgie.app.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+/**
+ * Bulk issuance against the database: a 500-learner cohort within a second, and one bad
+ * row reported on its own instead of rolling back the cohort. Each chunk commits, so the
+ * test runs outside a test transaction and removes its rows afterwards.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CertificationServiceImpl.class, CertificateCodeGenerator.class})
+class CertificationServiceImplTest {
+
+    private static final int COHORT = 500;
+    private static final long MAX_ISSUE_MILLIS = 1000;
+
+    @Autowired
+    private CertificationServiceImpl certificationService;
+
+    @Autowired
+    private CertificationRepository certificationRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @SpyBean
+    private CertificateCodeGenerator certificateCodeGenerator;
+
+    @MockBean
+    private CourseService courseService;
+
+    @MockBean
+    private UserService userService;
+
+    private Course course;
+    private List<User> learners;
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        course = newCourse("Extrusion");
+        learners = new ArrayList<>(COHORT);
+        for (int i = 0; i < COHORT; i++) {
+            User user = new User();
+            user.setUsername("cohort" + i);
+            user.setEmail("cohort" + i + "@example.com");
+            user.setPasswordHash("hash");
+            user.setFirstName("Learner");
+            user.setLastName(Integer.toString(i));
+            user.setRole(Role.LEARNER);
+            learners.add(user);
+        }
+        learners = userRepository.saveAll(learners);
+
+        List<Enrollment> enrollments = new ArrayList<>(COHORT);
+        for (User learner : learners) {
+            Enrollment enrollment = new Enrollment();
+            enrollment.setUser(learner);
+            enrollment.setCourse(course);
+            enrollment.setEnrollmentDate(LocalDateTime.now());
+            enrollment.setStatus(Status.COMPLETED);
+            enrollments.add(enrollment);
+        }
+        enrollmentRepository.saveAll(enrollments);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Course created : courses) {
+            certificationRepository.deleteAllInBatch(certificationRepository.findByCourse(created));
+        }
+        enrollmentRepository.deleteAllInBatch(enrollmentRepository.findByCourse(course));
+        userRepository.deleteAllInBatch(learners);
+        courseRepository.deleteAllInBatch(courses);
+    }
+
+    @Test
+    void cohortOf500IsIssuedWithinOneSecond() {
+        long start = System.nanoTime();
+        CertificationBatchResultDTO result = certificationService.issueCertificationsForCourse(
+                course.getCourseId(), LocalDateTime.now(), null);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(result.getIssued()).hasSize(COHORT);
+        assertThat(result.getFailed()).isEmpty();
+        assertThat(result.getCompletedEnrollments()).isEqualTo(COHORT);
+        assertThat(certificationRepository.findCertifiedUserIds(course.getCourseId())).hasSize(COHORT);
+        assertThat(elapsedMillis).as("issue time in ms").isLessThan(MAX_ISSUE_MILLIS);
+
+        // Issuing again skips the whole cohort
+        CertificationBatchResultDTO again = certificationService.issueCertificationsForCourse(
+                course.getCourseId(), LocalDateTime.now(), null);
+        assertThat(again.getIssued()).isEmpty();
+        assertThat(again.getAlreadyCertifiedUserIds()).hasSize(COHORT);
+    }
+
+    @Test
+    void oneRejectedLearnerDoesNotRollBackTheCohort() {
+        // Another course's certificate already holds the code handed to one learner
+        Course otherCourse = newCourse("Blow moulding");
+        Certification taken = new Certification();
+        taken.setUser(learners.get(0));
+        taken.setCourse(otherCourse);
+        taken.setCertificateCode("CERT-TAKEN");
+        taken.setIssueDate(LocalDateTime.now());
+        taken.setStatus("active");
+        certificationRepository.save(taken);
+
+        int rejected = 70;
+        doAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<String> codes = new ArrayList<>((List<String>) invocation.callRealMethod());
+            codes.set(rejected, "CERT-TAKEN");
+            return codes;
+        }).when(certificateCodeGenerator).next(anyInt());
+
+        CertificationBatchResultDTO result = certificationService.issueCertificationsForCourse(
+                course.getCourseId(), LocalDateTime.now(), null);
+
+        Long rejectedUserId = learners.get(rejected).getUserId();
+        assertThat(result.getIssued()).hasSize(COHORT - 1);
+        assertThat(result.getFailed()).singleElement().satisfies(failure -> {
+            assertThat(failure.getUserId()).isEqualTo(rejectedUserId);
+            assertThat(failure.getReason()).isEqualTo("Rejected by a database constraint");
+        });
+        assertThat(result.getAlreadyCertifiedUserIds()).isEmpty();
+        assertThat(certificationRepository.findCertifiedUserIds(course.getCourseId()))
+                .hasSize(COHORT - 1)
+                .doesNotContain(rejectedUserId);
+    }
+
+    private Course newCourse(String title) {
+        Course created = new Course();
+        created.setTitle(title);
+        created.setCertificationEligible(true);
+        created = courseRepository.save(created);
+        courses.add(created);
+        when(courseService.getCourseById(created.getCourseId())).thenReturn(created);
+        return created;
+    }
+}
@@ -0,0 +1,158 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.model.ImageUser;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Role;
+import com.plasturgie.app.repository.ImageUserRepository;
+import com.plasturgie.app.repository.UserRepository;
+import com.plasturgie.app.storage.FileSystemImageStorage;
+import com.plasturgie.app.storage.ImageStorage;
+import com.plasturgie.app.storage.ImageVariantStore;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stored image content follows the rows that reference it: content written by a transaction
+ * that rolls back is removed again, and deleted images release content nothing else shares.
+ * Every case commits or rolls back on its own, so the test runs outside a test transaction.
+ */
+@DataJpaTest(properties = "app.image-storage.location=target/test-image-storage")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ImageUserServiceImpl.class, FileSystemImageStorage.class})
+class ImageUserServiceImplTest {
+
+    private static final byte[] CONTENT = "not really a png".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ImageUserServiceImpl imageUserService;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageUserRepository imageUserRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ImageVariantStore imageVariantStore;
+
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = new User();
+        user.setUsername("uploader");
+        user.setEmail("uploader@example.com");
+        user.setPasswordHash("hash");
+        user.setFirstName("Image");
+        user.setLastName("Uploader");
+        user.setRole(Role.LEARNER);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageUserRepository.deleteAllInBatch();
+        userRepository.delete(user);
+    }
+
+    @Test
+    void rolledBackUploadRemovesItsContent() {
+        String storageKey = transaction.execute(status -> {
+            ImageUser saved = upload();
+            status.setRollbackOnly();
+            return saved.getStorageKey();
+        });
+
+        assertThat(imageStorage.exists(storageKey)).isFalse();
+    }
+
+    @Test
+    void rolledBackUploadKeepsContentSharedWithACommittedImage() {
+        String storageKey = transaction.execute(status -> upload().getStorageKey());
+
+        transaction.executeWithoutResult(status -> {
+            upload();
+            status.setRollbackOnly();
+        });
+
+        assertThat(imageStorage.exists(storageKey)).isTrue();
+    }
+
+    @Test
+    void rolledBackMigrationRemovesCopiedContent() throws Exception {
+        ImageUser inline = new ImageUser("inline.png", "image/png", BlobProxy.generateProxy(CONTENT), user);
+        Long id = imageUserRepository.save(inline).getId();
+
+        String storageKey = transaction.execute(status -> {
+            migrate();
+            status.setRollbackOnly();
+            return imageUserRepository.findById(id).orElseThrow().getStorageKey();
+        });
+
+        assertThat(imageStorage.exists(storageKey)).isFalse();
+        assertThat(imageUserRepository.findIdsWithInlineImageData(PageRequest.of(0, 10)))
+                .containsExactly(id);
+    }
+
+    @Test
+    void deletedImageRemovesUnsharedContentAfterCommit() {
+        ImageUser first = transaction.execute(status -> upload());
+        ImageUser second = transaction.execute(status -> upload());
+
+        imageUserService.deleteImageUser(first.getId());
+        assertThat(imageStorage.exists(first.getStorageKey())).isTrue();
+
+        imageUserService.deleteImageUser(second.getId());
+        assertThat(imageStorage.exists(second.getStorageKey())).isFalse();
+    }
+
+    private ImageUser upload() {
+        ImageUser image = new ImageUser();
+        image.setFilename("upload.png");
+        image.setContentType("image/png");
+        image.setUser(user);
+        try {
+            return imageUserService.saveImageUser(image, new ByteArrayInputStream(CONTENT), CONTENT.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void migrate() {
+        try {
+            imageUserService.migrateInlineImageData(10);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.plasturgie.app.service.impl;
+
+import com.plasturgie.app.integration.ClicToPayService;
+import com.plasturgie.app.model.Course;
+import com.plasturgie.app.model.Payment;
+import com.plasturgie.app.model.User;
+import com.plasturgie.app.model.enums.Status;
+import com.plasturgie.app.repository.EnrollmentRepository;
+import com.plasturgie.app.repository.PaymentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Payment verification against a gateway that answers late, not at all, or after
+ * another path has already settled the payment.
+ */
+class PaymentServiceImplTest {
+
+    private static final String TOKEN = "token-1";
+    private static final Long PAYMENT_ID = 42L;
+
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+    private final ClicToPayService clicToPayService = mock(ClicToPayService.class);
+
+    private PaymentServiceImpl paymentService;
+
+    @BeforeEach
+    void setUp() {
+        paymentService = new PaymentServiceImpl(mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                100, 60000, 100, 60000, 2);
+        ReflectionTestUtils.setField(paymentService, "paymentRepository", paymentRepository);
+        ReflectionTestUtils.setField(paymentService, "enrollmentRepository", enrollmentRepository);
+        ReflectionTestUtils.setField(paymentService, "clicToPayService", clicToPayService);
+    }
+
+    @Test
+    void settledPaymentIsNotVerifiedAgain() {
+        storedPayment(Status.COMPLETED);
+
+        assertThat(paymentService.verifyPaymentStatus(TOKEN)).isTrue();
+        verifyNoInteractions(clicToPayService);
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void pendingAnswerWritesNothing() {
+        storedPayment(Status.PENDING);
+        when(clicToPayService.verifyPayment(TOKEN)).thenReturn(Status.PENDING);
+
+        assertThat(paymentService.verifyPaymentStatus(TOKEN)).isFalse();
+        verify(paymentRepository, never()).save(any());
+        verify(paymentRepository, never()).settlePending(anyCollection(), any(), any());
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void completedPaymentActivatesItsEnrollments() {
+        storedPayment(Status.PENDING);
+        when(clicToPayService.verifyPayment(TOKEN)).thenReturn(Status.COMPLETED);
+        when(paymentRepository.settlePending(eq(List.of(PAYMENT_ID)), eq(Status.COMPLETED), any())).thenReturn(1);
+
+        assertThat(paymentService.verifyPaymentStatus(TOKEN)).isTrue();
+        verify(enrollmentRepository).activateByPaymentIds(List.of(PAYMENT_ID));
+        verify(paymentRepository, never()).save(any());
+    }
+
+    @Test
+    void failedPaymentIsSettledWithoutPaymentDate() {
+        storedPayment(Status.PENDING);
+        when(clicToPayService.verifyPayment(TOKEN)).thenReturn(Status.FAILED);
+        when(paymentRepository.settlePending(eq(List.of(PAYMENT_ID)), eq(Status.FAILED), isNull())).thenReturn(1);
+
+        assertThat(paymentService.verifyPaymentStatus(TOKEN)).isFalse();
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void concurrentSettlementIsNotOverwritten() {
+        Payment pending = storedPayment(Status.PENDING);
+        when(clicToPayService.verifyPayment(TOKEN)).thenReturn(Status.FAILED);
+        // A callback completed the payment while the gateway call was in flight
+        when(paymentRepository.settlePending(anyCollection(), any(), any())).thenReturn(0);
+        Payment completed = new Payment();
+        completed.setPaymentId(PAYMENT_ID);
+        completed.setStatus(Status.COMPLETED);
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(completed));
+
+        assertThat(paymentService.verifyPaymentStatus(TOKEN)).isTrue();
+        assertThat(pending.getStatus()).isEqualTo(Status.PENDING);
+        verify(paymentRepository, never()).save(any());
+        verifyNoInteractions(enrollmentRepository);
+    }
+
+    @Test
+    void failedLookupDoesNotLeaveTheIdempotencyKeyWaiting() throws Exception {
+        User user = user();
+        Course course = course();
+        when(paymentRepository.findByIdempotencyKey("7:key-1"))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+
+        assertThatThrownBy(() -> paymentService.initiatePayment(user, course, null, "key-1"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        // The retry looks the key up again instead of waiting on the first attempt
+        Payment stored = new Payment();
+        stored.setCourse(course);
+        doReturn(Optional.of(stored)).when(paymentRepository).findByIdempotencyKey("7:key-1");
+        CompletableFuture<Payment> retry = paymentService.initiatePayment(user, course, null, "key-1");
+
+        assertThat(retry.get(1, TimeUnit.SECONDS)).isSameAs(stored);
+    }
+
+    @Test
+    void rejectedStartDoesNotLeaveTheIdempotencyKeyWaiting() {
+        User user = user();
+        when(paymentRepository.findByIdempotencyKey("7:key-2")).thenReturn(Optional.empty());
+
+        // Neither a course nor an event: startPayment throws before any gateway call
+        assertThatThrownBy(() -> paymentService.initiatePayment(user, null, null, "key-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> paymentService.initiatePayment(user, null, null, "key-2"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void paymentIsSavedOffTheGatewayThreads() throws Exception {
+        when(clicToPayService.initiatePaymentAsync(any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture("token-2"));
+        AtomicReference<String> savingThread = new AtomicReference<>();
+        when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+            savingThread.set(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        Payment payment = paymentService.initiatePayment(user(), course(), null, null).get(1, TimeUnit.SECONDS);
+
+        assertThat(payment.getClictopayToken()).isEqualTo("token-2");
+        assertThat(savingThread.get()).startsWith("payment-persistence-");
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setUserId(7L);
+        return user;
+    }
+
+    private static Course course() {
+        Course course = new Course();
+        course.setCourseId(3L);
+        course.setTitle("Extrusion");
+        course.setPrice(BigDecimal.TEN);
+        return course;
+    }
+
+    private Payment storedPayment(Status status) {
+        Payment payment = new Payment();
+        payment.setPaymentId(PAYMENT_ID);
+        payment.setClictopayToken(TOKEN);
+        payment.setStatus(status);
+        when(paymentRepository.findByClictopayToken(TOKEN)).thenReturn(Optional.of(payment));
+        return payment;
+    }
+}